@@ -0,0 +1,108 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Tom.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package radialcolordialog.benchmark;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import radialcolordialog.Channel;
+import radialcolordialog.ColorBand;
+import radialcolordialog.ColorTuple;
+import radialcolordialog.RenderMode;
+import radialcolordialog.TupleType;
+
+/**
+ * Benchmark for rendering a single ColorBand (the hue band) into an image.
+ * With rebuild set, the cached image of the band is rebuilt on every render,
+ * otherwise only the cached image is drawn.
+ * @author Tom
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ColorBandBenchmark {
+
+    @Param({"Rays", "Raster", "Paint", "Indexed"})
+    public RenderMode mode;
+
+    @Param({"true", "false"})
+    public boolean rebuild;
+
+    private ColorBand _band;
+    private BufferedImage _image;
+    private Graphics2D _g2;
+
+    @Setup
+    public void setup() {
+
+        Point2D center = new Point2D.Double(230, 262);
+
+        _band = new ColorBand(e -> { }, TupleType.HSB, Channel.ChannelA, center, 160, 0, Math.PI * 2, 24);
+        _band.setColors(new ColorTuple(0, 1, 1), new ColorTuple(1, 1, 1));
+        _band.setRenderMode(mode);
+
+        _image = new BufferedImage(460, 492, BufferedImage.TYPE_INT_ARGB);
+        _g2 = _image.createGraphics();
+        _g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        //same world transform as the display
+        _g2.translate(0, 492);
+        _g2.scale(1.0, -1.0);
+
+    }
+
+    @TearDown
+    public void tearDown() {
+        _g2.dispose();
+    }
+
+    @Benchmark
+    public void render() {
+
+        if (rebuild) {
+            _band.invalidate();
+        }
+
+        _band.render(_g2);
+
+    }
+
+}
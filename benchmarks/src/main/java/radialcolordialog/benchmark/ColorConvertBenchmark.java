@@ -0,0 +1,119 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Tom.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package radialcolordialog.benchmark;
+
+import java.awt.Color;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import radialcolordialog.ColorConvert;
+
+/**
+ * Benchmark for converting colors with ColorConvert against java.awt.Color.
+ * Each operation converts 1024 colors.  Run ColorConvertCheck to confirm the results match.
+ * @author Tom
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ColorConvertBenchmark {
+
+    private static final int COLORS = 1024;
+
+    private int[] _packed;
+    private float[] _hsb;
+    private int[] _packedOut;
+    private float[] _hsbOut;
+
+    @Setup
+    public void setup() {
+
+        Random random = new Random(42);
+
+        _packed = new int[COLORS];
+        _hsb = new float[COLORS * 3];
+
+        for (int i = 0; i < COLORS; i++) {
+            _packed[i] = 0xFF000000 | random.nextInt(0x1000000);
+            _hsb[i * 3] = random.nextFloat();
+            _hsb[i * 3 + 1] = random.nextFloat();
+            _hsb[i * 3 + 2] = random.nextFloat();
+        }
+
+        _packedOut = new int[COLORS];
+        _hsbOut = new float[COLORS * 3];
+
+    }
+
+    @Benchmark
+    public void colorRGBtoHSB(Blackhole bh) {
+
+        for (int i = 0; i < COLORS; i++) {
+            Color c = new Color(_packed[i]);
+            bh.consume(Color.RGBtoHSB(c.getRed(), c.getGreen(), c.getBlue(), null));
+        }
+
+    }
+
+    @Benchmark
+    public float[] convertPackedToHSB() {
+
+        ColorConvert.packedToHSB(_packed, _hsbOut, COLORS);
+
+        return _hsbOut;
+
+    }
+
+    @Benchmark
+    public void colorGetHSBColor(Blackhole bh) {
+
+        for (int i = 0; i < COLORS; i++) {
+            bh.consume(Color.getHSBColor(_hsb[i * 3], _hsb[i * 3 + 1], _hsb[i * 3 + 2]).getRGB());
+        }
+
+    }
+
+    @Benchmark
+    public int[] convertHSBToPacked() {
+
+        ColorConvert.hsbToPacked(_hsb, _packedOut, COLORS);
+
+        return _packedOut;
+
+    }
+
+}
@@ -0,0 +1,188 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Tom.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package radialcolordialog.benchmark;
+
+import java.awt.Color;
+import radialcolordialog.ColorConvert;
+
+/**
+ * Check that ColorConvert matches java.awt.Color.
+ * Every 24 bit RGB color is converted to HSB and compared bit for bit with Color.RGBtoHSB,
+ * then HSB and float RGB grids are packed and compared with Color.HSBtoRGB and the float
+ * Color constructor.  Exits with a status of 1 on any mismatch.
+ * 
+ * Usage:
+ * <pre>
+ *   java -cp target/benchmarks.jar radialcolordialog.benchmark.ColorConvertCheck
+ * </pre>
+ * @author Tom
+ */
+public class ColorConvertCheck {
+
+    //steps per channel for the float grids
+    private static final int STEPS = 256;
+
+    /**
+     * Run the check.
+     * @param args Not used.
+     */
+    public static void main(String[] args) {
+
+        long failures = 0;
+
+        failures += checkRGBToHSB();
+        failures += checkHSBToPacked();
+        failures += checkRGBToPacked();
+
+        System.out.println(failures == 0 ? "ColorConvert matches java.awt.Color" : failures + " mismatches");
+
+        System.exit(failures == 0 ? 0 : 1);
+
+    }
+
+    /**
+     * Compare every RGB color to HSB, using the scalar and bulk conversions.
+     * @return The number of mismatches.
+     */
+    private static long checkRGBToHSB() {
+
+        long failures = 0;
+
+        float[] expected = new float[3];
+        int[] row = new int[256];
+        float[] rowOut = new float[256 * 3];
+
+        for (int rg = 0; rg < 0x10000; rg++) {
+
+            for (int b = 0; b < 256; b++) {
+                row[b] = (rg << 8) | b;
+            }
+
+            ColorConvert.packedToHSB(row, rowOut, 256);
+
+            for (int b = 0; b < 256; b++) {
+
+                int argb = row[b];
+                Color.RGBtoHSB((argb >> 16) & 0xFF, (argb >> 8) & 0xFF, b, expected);
+
+                for (int k = 0; k < 3; k++) {
+                    if (Float.floatToIntBits(expected[k]) != Float.floatToIntBits(rowOut[b * 3 + k])) {
+                        failures += report("rgbToHSB", Integer.toHexString(argb), expected[k], rowOut[b * 3 + k]);
+                        break;
+                    }
+                }
+
+            }
+
+        }
+
+        System.out.println("rgbToHSB: 16777216 colors checked");
+
+        return failures;
+
+    }
+
+    /**
+     * Compare a grid of HSB values packed to RGB.
+     * @return The number of mismatches.
+     */
+    private static long checkHSBToPacked() {
+
+        long failures = 0;
+
+        for (int i = 0; i <= STEPS; i++) {
+            for (int j = 0; j <= STEPS; j++) {
+                for (int k = 0; k <= STEPS; k++) {
+
+                    float h = (float) i / STEPS;
+                    float s = (float) j / STEPS;
+                    float v = (float) k / STEPS;
+
+                    int expected = Color.HSBtoRGB(h, s, v);
+                    int actual = ColorConvert.hsbToPacked(h, s, v);
+
+                    if (expected != actual) {
+                        failures += report("hsbToPacked", h + "," + s + "," + v, expected, actual);
+                    }
+
+                }
+            }
+        }
+
+        System.out.println("hsbToPacked: " + (long) Math.pow(STEPS + 1, 3) + " colors checked");
+
+        return failures;
+
+    }
+
+    /**
+     * Compare a grid of float RGB values packed to RGB.
+     * @return The number of mismatches.
+     */
+    private static long checkRGBToPacked() {
+
+        long failures = 0;
+
+        for (int i = 0; i <= STEPS; i++) {
+            for (int j = 0; j <= STEPS; j++) {
+                for (int k = 0; k <= STEPS; k++) {
+
+                    float r = (float) i / STEPS;
+                    float g = (float) j / STEPS;
+                    float b = (float) k / STEPS;
+
+                    int expected = new Color(r, g, b).getRGB();
+                    int actual = ColorConvert.rgbToPacked(r, g, b);
+
+                    if (expected != actual) {
+                        failures += report("rgbToPacked", r + "," + g + "," + b, expected, actual);
+                    }
+
+                }
+            }
+        }
+
+        System.out.println("rgbToPacked: " + (long) Math.pow(STEPS + 1, 3) + " colors checked");
+
+        return failures;
+
+    }
+
+    /**
+     * Print a mismatch.
+     * @param name The name of the conversion.
+     * @param input The input of the conversion.
+     * @param expected The result from java.awt.Color.
+     * @param actual The result from ColorConvert.
+     * @return 1, to count the mismatch.
+     */
+    private static long report(String name, String input, Object expected, Object actual) {
+
+        System.out.println("FAIL " + name + "(" + input + ") expected " + expected + " actual " + actual);
+
+        return 1;
+
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Tom.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package radialcolordialog.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import radialcolordialog.ColorRange;
+import radialcolordialog.ColorTuple;
+import radialcolordialog.TupleType;
+
+/**
+ * Benchmark for sampling colors from a ColorRange.
+ * Each operation samples the range 256 times, either one ColorTuple and Color at a time
+ * or in bulk into a packed buffer.
+ * @author Tom
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ColorRangeBenchmark {
+
+    private static final int SAMPLES = 256;
+
+    @Param({"RGB", "HSB"})
+    public TupleType type;
+
+    private ColorRange _range;
+    private int[] _packed;
+
+    @Setup
+    public void setup() {
+
+        _range = new ColorRange();
+        _range.setStart(new ColorTuple(0.0f, 0.75f, 0.5f));
+        _range.setEnd(new ColorTuple(1.0f, 0.75f, 0.5f));
+
+        _packed = new int[SAMPLES];
+
+    }
+
+    @Benchmark
+    public void tupleToColor(Blackhole bh) {
+
+        for (int i = 0; i < SAMPLES; i++) {
+
+            float t = (float) i / (float) (SAMPLES - 1);
+            bh.consume(_range.getTuple(t).getColor(type));
+
+        }
+
+    }
+
+    @Benchmark
+    public int[] fillPacked() {
+
+        _range.fillPacked(_packed, SAMPLES, type);
+
+        return _packed;
+
+    }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Tom.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package radialcolordialog.benchmark;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import radialcolordialog.ColorTuple;
+import radialcolordialog.ControlListener;
+import radialcolordialog.ControlPanel;
+import radialcolordialog.DisplayPanel;
+
+/**
+ * Benchmark for the time to open the dialog, up to the first frame of the display.
+ * A new dialog builds the display and control panels, a reused dialog only reloads the color
+ * (what showDialog does on a dialog from RadialColorDialog.getInstance).  Each open alternates 
+ * between two colors so the bands are rebuilt.  The dialog window itself can not be shown headless,
+ * so this measures the panels it holds.
+ * @author Tom
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DialogOpenBenchmark {
+
+    private static final Color[] COLORS = {new Color(255, 0, 128, 128), new Color(20, 200, 90, 255)};
+
+    private DisplayPanel _display;
+    private ControlPanel _controls;
+    private BufferedImage _image;
+    private int _opens;
+
+    @Setup
+    public void setup() {
+
+        _display = newDisplay();
+        _controls = newControls();
+
+        _image = new BufferedImage(_display.getWidth(), _display.getHeight(), BufferedImage.TYPE_INT_ARGB);
+
+        _opens = 0;
+
+    }
+
+    @Benchmark
+    public BufferedImage newDialog() {
+
+        DisplayPanel display = newDisplay();
+        ControlPanel controls = newControls();
+
+        return open(display, controls);
+
+    }
+
+    @Benchmark
+    public BufferedImage reusedDialog() {
+
+        return open(_display, _controls);
+
+    }
+
+    /**
+     * Load the next color and paint the first frame of the display.
+     * @param display The display to open.
+     * @param controls The controls to open.
+     * @return The painted image.
+     */
+    private BufferedImage open(DisplayPanel display, ControlPanel controls) {
+
+        Color color = COLORS[_opens++ & 1];
+
+        display.loadColor(color);
+        controls.loadInitialColor(color);
+
+        Graphics2D g2 = _image.createGraphics();
+        display.paintComponent(g2);
+        g2.dispose();
+
+        return _image;
+
+    }
+
+    private static DisplayPanel newDisplay() {
+
+        DisplayPanel display = new DisplayPanel((rgb, hsb, alpha) -> { });
+        display.setSize(display.getPreferredSize());
+
+        return display;
+
+    }
+
+    private static ControlPanel newControls() {
+
+        return new ControlPanel(new ControlListener() {
+            @Override
+            public void colorUpdatedFromInputs(ColorTuple rgb, ColorTuple hsb, int alpha) {
+            }
+
+            @Override
+            public void closeDialog(boolean ok) {
+            }
+        });
+
+    }
+
+}
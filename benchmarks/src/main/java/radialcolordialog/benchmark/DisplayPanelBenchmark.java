@@ -0,0 +1,86 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Tom.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package radialcolordialog.benchmark;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import radialcolordialog.DisplayPanel;
+import radialcolordialog.RenderMode;
+
+/**
+ * Benchmark for painting the whole DisplayPanel into an off-screen image.
+ * @author Tom
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DisplayPanelBenchmark {
+
+    @Param({"Rays", "Raster", "Paint", "Indexed"})
+    public RenderMode mode;
+
+    private DisplayPanel _display;
+    private BufferedImage _image;
+
+    @Setup
+    public void setup() {
+
+        _display = new DisplayPanel((rgb, hsb, alpha) -> { });
+        _display.setSize(_display.getPreferredSize());
+        _display.setRenderMode(mode);
+        _display.loadColor(new Color(255, 0, 128, 128));
+
+        _image = new BufferedImage(_display.getWidth(), _display.getHeight(), BufferedImage.TYPE_INT_ARGB);
+
+    }
+
+    @Benchmark
+    public BufferedImage paintComponent() {
+
+        //paintComponent leaves the world transform applied - use a fresh graphics each time
+        Graphics2D g2 = _image.createGraphics();
+        _display.paintComponent(g2);
+        g2.dispose();
+
+        return _image;
+
+    }
+
+}
@@ -0,0 +1,149 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Tom.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package radialcolordialog.benchmark;
+
+import java.awt.Color;
+import java.awt.event.MouseEvent;
+import java.lang.reflect.InvocationTargetException;
+import javax.swing.SwingUtilities;
+import radialcolordialog.ColorTuple;
+import radialcolordialog.ControlListener;
+import radialcolordialog.ControlPanel;
+import radialcolordialog.DialogColorModel;
+import radialcolordialog.DisplayMetrics;
+import radialcolordialog.DisplayPanel;
+
+/**
+ * Check that the listener metrics of the DisplayPanel time the update of the controls.
+ * The red band is dragged on a display sharing its DialogColorModel with a control panel,
+ * and on a display alone.  The listener count and mean time must be above zero, and the mean
+ * must be well above the mean without controls.  Exits with a status of 1 if not.
+ * 
+ * Usage:
+ * <pre>
+ *   java -cp target/benchmarks.jar radialcolordialog.benchmark.ListenerMetricsCheck
+ * </pre>
+ * @author Tom
+ */
+public class ListenerMetricsCheck {
+
+    //steps of the drag on the red band
+    private static final int DRAG_STEPS = 60;
+
+    /**
+     * Run the check.
+     * @param args Not used.
+     * @throws InterruptedException If interrupted while waiting for the event dispatch thread.
+     * @throws InvocationTargetException If the check failed with an exception.
+     */
+    public static void main(String[] args) throws InterruptedException, InvocationTargetException {
+
+        System.setProperty("java.awt.headless", "true");
+
+        final boolean[] ok = new boolean[1];
+
+        SwingUtilities.invokeAndWait(() -> {
+            ok[0] = check();
+        });
+
+        System.exit(ok[0] ? 0 : 1);
+
+    }
+
+    /**
+     * Drag the red band with and without a control panel on the model, and check the listener 
+     * time covers the update of the controls.
+     * @return True if the listener was timed, false otherwise.
+     */
+    private static boolean check() {
+
+        //warm up both paths before measuring
+        drag(true);
+        drag(false);
+
+        DisplayMetrics shared = drag(true);
+        DisplayMetrics alone = drag(false);
+
+        System.out.println("with controls: listener count " + shared.getListenerCount() 
+                + ", mean " + shared.getListenerTimeMean() + " ms");
+        System.out.println("without controls: listener count " + alone.getListenerCount() 
+                + ", mean " + alone.getListenerTimeMean() + " ms");
+
+        //setting seven spinners costs far more than a model with no other views
+        boolean ok = shared.getListenerCount() > 0 && shared.getListenerTimeMean() > 0
+                && shared.getListenerTimeMean() > 2 * alone.getListenerTimeMean();
+
+        System.out.println(ok ? "Listener metrics time the controls" : "Listener metrics do not time the controls");
+
+        return ok;
+
+    }
+
+    /**
+     * Drag the red band of a display with the metrics enabled.
+     * @param withControls True to share the model with a control panel that follows every change.
+     * @return The metrics of the display.
+     */
+    private static DisplayMetrics drag(boolean withControls) {
+
+        DialogColorModel model = new DialogColorModel();
+
+        if (withControls) {
+
+            ControlPanel controls = new ControlPanel(new ControlListener() {
+                @Override
+                public void colorUpdatedFromInputs(ColorTuple rgb, ColorTuple hsb, int alpha) {
+                }
+
+                @Override
+                public void closeDialog(boolean ok) {
+                }
+            }, model);
+
+            //no throttling, so every drag event updates the spinners
+            controls.setDragRefreshRate(0);
+
+        }
+
+        DisplayPanel display = new DisplayPanel((rgb, hsb, alpha) -> { }, model);
+        display.setSize(display.getPreferredSize());
+        display.loadColor(new Color(255, 0, 128, 128));
+        display.setMetricsEnabled(true);
+
+        //the red band is at a radius of 190, centered on the right of the display
+        int x = 230 + 190;
+        int y = 230;
+        display.mousePressed(new MouseEvent(display, MouseEvent.MOUSE_PRESSED, 0, 0, x, y - 60, 1, false));
+
+        for (int i = 1; i <= DRAG_STEPS; i++) {
+            display.mouseDragged(new MouseEvent(display, MouseEvent.MOUSE_DRAGGED, 0, 0, x, y - 60 + i * 2, 0, false));
+        }
+
+        display.mouseReleased(new MouseEvent(display, MouseEvent.MOUSE_RELEASED, 0, 0, x, y + 60, 1, false));
+
+        return display.getMetrics();
+
+    }
+
+}
@@ -0,0 +1,369 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Tom.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package radialcolordialog.benchmark;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.imageio.ImageIO;
+import radialcolordialog.DisplayPanel;
+import radialcolordialog.RenderMode;
+
+/**
+ * Headless render and compare harness for the DisplayPanel.
+ * 
+ * The harness drives a DisplayPanel through a fixed set of scenarios (loading colors, and
+ * synthetic drags on the bands and the alpha slider), painting a frame into an image after
+ * every step.  The last frame of each scenario is written as a golden PNG (record) or compared
+ * against the golden PNG (verify), and the paint times of all frames are reported as percentiles.
+ * 
+ * Usage:
+ * <pre>
+ *   java -cp target/benchmarks.jar radialcolordialog.benchmark.RenderHarness record|verify &lt;dir&gt; [Rays|Raster|Paint|Indexed]
+ * </pre>
+ * Verify exits with a status of 1 if any scenario differs from its golden image.
+ * Goldens are compared in the mode they were recorded in.  Indexed quantizes the gradients
+ * to 255 steps, so its frames can differ from Raster by up to 4 levels and need their own goldens.
+ * 
+ * @author Tom
+ */
+public class RenderHarness {
+
+    //center of the bands in screen coordinates
+    private static final int CX = 230;
+    private static final int CY = 230;
+
+    //steps per drag
+    private static final int DRAG_STEPS = 120;
+
+    //largest difference allowed in any channel when verifying
+    private static final int TOLERANCE = 2;
+
+    private final DisplayPanel _display;
+    private final BufferedImage _frame;
+
+    private final List<Long> _paintTimes;
+
+    /**
+     * Build the harness with the display in the specified render mode.
+     * @param mode The render mode of the display.
+     */
+    public RenderHarness(RenderMode mode) {
+
+        _display = new DisplayPanel((rgb, hsb, alpha) -> { });
+        _display.setSize(_display.getPreferredSize());
+        _display.setRenderMode(mode);
+
+        _frame = new BufferedImage(_display.getWidth(), _display.getHeight(), BufferedImage.TYPE_INT_ARGB);
+
+        _paintTimes = new ArrayList<>();
+
+    }
+
+    /**
+     * Run the harness.
+     * @param args record or verify, the directory of the golden images, and optionally the render mode.
+     * @throws IOException If the golden images could not be read or written.
+     */
+    public static void main(String[] args) throws IOException {
+
+        System.setProperty("java.awt.headless", "true");
+
+        if (args.length < 2 || !(args[0].equals("record") || args[0].equals("verify"))) {
+            System.err.println("Usage: RenderHarness record|verify <dir> [Rays|Raster|Paint|Indexed]");
+            System.exit(2);
+        }
+
+        boolean record = args[0].equals("record");
+        File dir = new File(args[1]);
+        RenderMode mode = args.length > 2 ? RenderMode.valueOf(args[2]) : RenderMode.Rays;
+
+        if (record && !dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Could not create " + dir);
+        }
+
+        RenderHarness harness = new RenderHarness(mode);
+
+        int failures = harness.run(dir, record, mode.name());
+
+        harness.report();
+
+        System.exit(failures == 0 ? 0 : 1);
+
+    }
+
+    /**
+     * Run all the scenarios.
+     * @param dir The directory of the golden images.
+     * @param record True to write the golden images, false to compare against them.
+     * @param prefix The prefix for the golden image names.
+     * @return The number of scenarios that differ from their golden image.
+     * @throws IOException If the golden images could not be read or written.
+     */
+    private int run(File dir, boolean record, String prefix) throws IOException {
+
+        int failures = 0;
+
+        //load colors
+        loadColor(new Color(255, 0, 128, 128));
+        failures += check(dir, prefix + "-load-pink", record);
+
+        loadColor(new Color(20, 200, 90, 255));
+        failures += check(dir, prefix + "-load-green", record);
+
+        loadColor(new Color(0, 0, 0, 0));
+        failures += check(dir, prefix + "-load-clear", record);
+
+        //drags
+        loadColor(new Color(255, 0, 128, 128));
+
+        //red arc (-55 to 55 degrees)
+        dragArc(190, -50, 50);
+        failures += check(dir, prefix + "-drag-red", record);
+
+        //hue circle
+        dragArc(160, 0, 350);
+        failures += check(dir, prefix + "-drag-hue", record);
+
+        //brightness circle
+        dragArc(100, 90, 300);
+        failures += check(dir, prefix + "-drag-brightness", record);
+
+        //alpha slider
+        dragLine(60, 470, 400, 470);
+        failures += check(dir, prefix + "-drag-alpha", record);
+
+        return failures;
+
+    }
+
+    /**
+     * Load a color into the display and paint a frame.
+     * @param color The color to load.
+     */
+    private void loadColor(Color color) {
+
+        _display.loadColor(color);
+        paintFrame();
+
+    }
+
+    /**
+     * Drag along an arc around the center of the bands, painting a frame on each step.
+     * @param radius The radius of the arc.
+     * @param fromDeg The starting angle in degrees (counter clockwise from the positive x axis).
+     * @param toDeg The ending angle in degrees.
+     */
+    private void dragArc(double radius, double fromDeg, double toDeg) {
+
+        for (int i = 0; i <= DRAG_STEPS; i++) {
+
+            double theta = Math.toRadians(fromDeg + ((toDeg - fromDeg) * i / DRAG_STEPS));
+            int x = (int) Math.round(CX + radius * Math.cos(theta));
+            //screen y is down
+            int y = (int) Math.round(CY - radius * Math.sin(theta));
+
+            mouse(i == 0 ? MouseEvent.MOUSE_PRESSED : MouseEvent.MOUSE_DRAGGED, x, y);
+            paintFrame();
+
+        }
+
+        mouse(MouseEvent.MOUSE_RELEASED, 0, 0);
+        paintFrame();
+
+    }
+
+    /**
+     * Drag along a line, painting a frame on each step.
+     * @param x1 The starting x coordinate.
+     * @param y1 The starting y coordinate.
+     * @param x2 The ending x coordinate.
+     * @param y2 The ending y coordinate.
+     */
+    private void dragLine(int x1, int y1, int x2, int y2) {
+
+        for (int i = 0; i <= DRAG_STEPS; i++) {
+
+            int x = x1 + ((x2 - x1) * i / DRAG_STEPS);
+            int y = y1 + ((y2 - y1) * i / DRAG_STEPS);
+
+            mouse(i == 0 ? MouseEvent.MOUSE_PRESSED : MouseEvent.MOUSE_DRAGGED, x, y);
+            paintFrame();
+
+        }
+
+        mouse(MouseEvent.MOUSE_RELEASED, 0, 0);
+        paintFrame();
+
+    }
+
+    /**
+     * Send a synthetic mouse event to the display.
+     * @param id The id of the event (pressed, dragged, or released).
+     * @param x The x coordinate of the event.
+     * @param y The y coordinate of the event.
+     */
+    private void mouse(int id, int x, int y) {
+
+        MouseEvent e = new MouseEvent(_display, id, System.currentTimeMillis(), 0, x, y, 1, false);
+
+        switch (id) {
+            case MouseEvent.MOUSE_PRESSED:
+                _display.mousePressed(e);
+                break;
+            case MouseEvent.MOUSE_DRAGGED:
+                _display.mouseDragged(e);
+                break;
+            default:
+                _display.mouseReleased(e);
+                break;
+        }
+
+    }
+
+    /**
+     * Paint a full frame of the display and record the paint time.
+     */
+    private void paintFrame() {
+
+        Graphics2D g2 = _frame.createGraphics();
+
+        long start = System.nanoTime();
+        _display.paintComponent(g2);
+        long end = System.nanoTime();
+
+        g2.dispose();
+
+        _paintTimes.add(end - start);
+
+    }
+
+    /**
+     * Record or verify the current frame against its golden image.
+     * @param dir The directory of the golden images.
+     * @param name The name of the golden image.
+     * @param record True to write the golden image, false to compare against it.
+     * @return 1 if the frame differs from the golden image, 0 otherwise.
+     * @throws IOException If the golden image could not be read or written.
+     */
+    private int check(File dir, String name, boolean record) throws IOException {
+
+        File file = new File(dir, name + ".png");
+
+        if (record) {
+            ImageIO.write(_frame, "png", file);
+            System.out.println("recorded " + file);
+            return 0;
+        }
+
+        BufferedImage golden = ImageIO.read(file);
+
+        if (golden == null) {
+            throw new IOException("Could not read " + file);
+        }
+
+        if (golden.getWidth() != _frame.getWidth() || golden.getHeight() != _frame.getHeight()) {
+            System.out.println("FAIL " + name + " : size differs");
+            return 1;
+        }
+
+        int count = 0;
+        int max = 0;
+
+        for (int y = 0; y < golden.getHeight(); y++) {
+            for (int x = 0; x < golden.getWidth(); x++) {
+
+                int delta = maxChannelDelta(golden.getRGB(x, y), _frame.getRGB(x, y));
+
+                if (delta > TOLERANCE) {
+                    count++;
+                }
+                max = Math.max(max, delta);
+
+            }
+        }
+
+        System.out.println((count == 0 ? "ok   " : "FAIL ") + name + " : " + count + " pixels differ, max channel delta " + max);
+
+        return count == 0 ? 0 : 1;
+
+    }
+
+    /**
+     * Get the largest difference in any channel of two packed ARGB values.
+     * @param p The first ARGB value.
+     * @param q The second ARGB value.
+     * @return The largest channel difference (0 to 255).
+     */
+    private static int maxChannelDelta(int p, int q) {
+
+        int max = 0;
+
+        for (int shift = 0; shift < 32; shift += 8) {
+            max = Math.max(max, Math.abs(((p >>> shift) & 0xFF) - ((q >>> shift) & 0xFF)));
+        }
+
+        return max;
+
+    }
+
+    /**
+     * Print the paint time percentiles of all the frames.
+     */
+    private void report() {
+
+        long[] times = new long[_paintTimes.size()];
+        for (int i = 0; i < times.length; i++) {
+            times[i] = _paintTimes.get(i);
+        }
+        Arrays.sort(times);
+
+        System.out.println("frames: " + times.length);
+        System.out.printf("paint ms  p50 %.3f  p90 %.3f  p99 %.3f  max %.3f%n",
+                percentile(times, 50), percentile(times, 90), percentile(times, 99), times[times.length - 1] / 1e6);
+
+    }
+
+    /**
+     * Get a percentile (nearest rank) of sorted times in milliseconds.
+     * @param sorted The sorted times in nanoseconds.
+     * @param p The percentile (0 to 100).
+     * @return The percentile in milliseconds.
+     */
+    private static double percentile(long[] sorted, double p) {
+
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        int index = Math.max(0, Math.min(sorted.length - 1, rank - 1));
+
+        return sorted[index] / 1e6;
+
+    }
+
+}
@@ -0,0 +1,107 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Tom.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package radialcolordialog.benchmark;
+
+import java.awt.Color;
+import java.awt.event.MouseEvent;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import radialcolordialog.ColorTuple;
+import radialcolordialog.ControlListener;
+import radialcolordialog.ControlPanel;
+import radialcolordialog.DialogColorModel;
+import radialcolordialog.DisplayPanel;
+
+/**
+ * Benchmark for the full update cycle of a drag on the red ColorBand.
+ * Each operation is one drag event: the band update, colorBandChanged with the RGB to HSB
+ * conversion in the shared DialogColorModel, and the model notifying the ControlPanel
+ * (which only sets its spinners at the drag refresh rate).
+ * The drag alternates between two positions so every event changes the color.
+ * @author Tom
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class UpdateCycleBenchmark {
+
+    private DisplayPanel _display;
+    private ControlPanel _controls;
+
+    private MouseEvent[] _drags;
+    private int _index;
+
+    @Setup
+    public void setup() {
+
+        DialogColorModel model = new DialogColorModel();
+
+        _controls = new ControlPanel(new ControlListener() {
+            @Override
+            public void colorUpdatedFromInputs(ColorTuple rgb, ColorTuple hsb, int alpha) {
+            }
+
+            @Override
+            public void closeDialog(boolean ok) {
+            }
+        }, model);
+
+        _display = new DisplayPanel((rgb, hsb, alpha) -> { }, model);
+        _display.setSize(_display.getPreferredSize());
+        _display.loadColor(new Color(255, 0, 128, 128));
+
+        //the red band is at a radius of 190, centered on the right of the display
+        int x = 230 + 190;
+        int y = 230;
+        _display.mousePressed(new MouseEvent(_display, MouseEvent.MOUSE_PRESSED, 0, 0, x, y, 1, false));
+
+        _drags = new MouseEvent[] {
+            new MouseEvent(_display, MouseEvent.MOUSE_DRAGGED, 0, 0, x, y - 60, 0, false),
+            new MouseEvent(_display, MouseEvent.MOUSE_DRAGGED, 0, 0, x, y + 60, 0, false)
+        };
+        _index = 0;
+
+    }
+
+    @Benchmark
+    public void drag() {
+
+        _display.mouseDragged(_drags[_index]);
+        _index ^= 1;
+
+    }
+
+}
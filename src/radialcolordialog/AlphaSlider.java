@@ -50,9 +50,17 @@ public class AlphaSlider implements InteractiveSlider{
     private ControlHandle _controlHandle;
 
     private double _handleLocation;
+    //draw the handle from the shared sprite instead of the path
+    private boolean _handleSprites;
+    
+    //state when last rendered
+    private double _renderedLocation;
+    private Color _renderedColor;
 
     private final static int VAL_MIN = 0;
     private final static int VAL_MAX = 255;
+    //checkerboard grid underneath
+    private final static int CHECKER_GRID = 8;
     
     
     private Rectangle2D _bounds;
@@ -75,19 +83,20 @@ public class AlphaSlider implements InteractiveSlider{
 
         _bounds = bounds;
         
-        int bgw = (int)Math.round(_bounds.getWidth());
-        int bgh = (int)Math.round(_bounds.getHeight());
-        
-        _bgImage = CheckerBoard.makeImage(bgw, bgh, 8);
+        _bgImage = getBackgroundImage(_bounds);
         
         _controlHandle = new ControlHandle(new Point2D.Double(_bounds.getX(),_bounds.getCenterY()), false);
 
-        _color1 = Color.BLACK; 
+        _color1 = new Color(0,0,0,0); 
         _color2 = Color.BLACK; 
         //set the color - sets the two colors with alpha
         setColor(color);
 
         _handleLocation = _bounds.getX();
+        _handleSprites = false;
+        
+        _renderedLocation = Double.NaN;
+        _renderedColor = null;
 
         _value = VAL_MIN;
 
@@ -145,12 +154,33 @@ public class AlphaSlider implements InteractiveSlider{
 
 
 
+    /**
+     * Set if the handle is drawn from the shared sprite.
+     * @param handleSprites True to draw the handle as a sprite, false to render the path.
+     */
+    public void setHandleSprites(boolean handleSprites) {
+        _handleSprites = handleSprites;
+    }
+
+    /**
+     * Get the display color, without alpha.
+     * @return The opaque display color.
+     */
+    Color getColor() {
+        return _color2;
+    }
+
     /**
      * Set the display color.  This is amended with the current alpha.
      * @param color The color to use for display.
      */
     public final void setColor(Color color) {
         
+        //nothing to do if the color is unchanged
+        if((color.getRGB() | 0xFF000000) == _color2.getRGB()) {
+            return;
+        }
+        
         int r = color.getRed();
         int g = color.getGreen();
         int b = color.getBlue();
@@ -165,6 +195,36 @@ public class AlphaSlider implements InteractiveSlider{
 
 
  
+    /**
+     * Get the shared checkerboard image for slider bounds.
+     * @param bounds The bounds of the slider.
+     * @return The checkerboard image.
+     */
+    private static Image getBackgroundImage(Rectangle2D bounds) {
+        
+        int bgw = (int)Math.round(bounds.getWidth());
+        int bgh = (int)Math.round(bounds.getHeight());
+        
+        return CheckerBoard.getImage(bgw, bgh, CHECKER_GRID);
+        
+    }
+    
+    /**
+     * Build the shared checkerboard image for slider bounds ahead of time.
+     * @param bounds The bounds of the slider.
+     */
+    static void prewarm(Rectangle2D bounds) {
+        getBackgroundImage(bounds);
+    }
+
+    /**
+     * Get the checkerboard image drawn underneath the slider.
+     * @return The background image.
+     */
+    Image getBackgroundImage() {
+        return _bgImage;
+    }
+
     /**
      * Render the AlphaSlider.
      * 
@@ -197,6 +257,13 @@ public class AlphaSlider implements InteractiveSlider{
 
         
         /***  Render the Handle ***/
+        
+        if(_handleSprites) {
+            _controlHandle.renderSprite(g2, _bounds.getX() + _handleLocation, _bounds.getCenterY(), 0);
+            _renderedLocation = _handleLocation;
+            _renderedColor = _color2;
+            return;
+        }
    
         //draw handle on top
        //get the current transform
@@ -213,6 +280,9 @@ public class AlphaSlider implements InteractiveSlider{
         //restore transform
         g2.setTransform(cTrans);         
         
+        _renderedLocation = _handleLocation;
+        _renderedColor = _color2;
+        
 
 
     }
@@ -270,6 +340,37 @@ public class AlphaSlider implements InteractiveSlider{
         return _bounds.contains(point);
 
     }
+    
+    /**
+     * Get the bounds of the slider, including the handle at any position.
+     * @return The bounds of the slider in world coordinates.
+     */
+    @Override
+    public Rectangle2D getBounds() {
+        
+        Rectangle2D hb = _controlHandle.getBounds();
+        
+        Rectangle2D bounds = new Rectangle2D.Double();
+        bounds.setRect(_bounds);
+        //handle from one end to the other
+        bounds.add(hb);
+        bounds.add(hb.getMaxX() + _bounds.getWidth(), hb.getMaxY());
+        
+        //pad for the handle outline
+        bounds.setRect(bounds.getX() - 1, bounds.getY() - 1, bounds.getWidth() + 2, bounds.getHeight() + 2);
+        
+        return bounds;
+        
+    }
+    
+    /**
+     * Check if the color or the handle changed since the slider was last rendered.
+     * @return True if the slider needs to be repainted, false otherwise.
+     */
+    @Override
+    public boolean needsRepaint() {
+        return _handleLocation != _renderedLocation || _color2 != _renderedColor;
+    }
 //</editor-fold>
     
     
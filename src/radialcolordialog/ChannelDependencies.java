@@ -0,0 +1,187 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Tom.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package radialcolordialog;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * The dependencies between the color channels and the appearance of the color bands.
+ * A band sweeps its own channel, so its colors only depend on the other channels of 
+ * its tuple type (the red band on green and blue, the hue band on saturation and brightness).
+ * Each band remembers its inputs at 8-bit precision when its colors were last set, and only
+ * needs new colors once one of them has changed at that precision.
+ * @author Tom
+ */
+public class ChannelDependencies {
+
+    //precision the inputs are compared at
+    private static final int LEVELS = 255;
+    private static final Channel[] CHANNELS = Channel.values();
+
+    //channels each band depends on, and its inputs when its colors were last set
+    private final HashMap<ColorBand, Inputs> _inputs;
+
+    private long _updated;
+    private long _skipped;
+
+    /**
+     * Build an empty dependency graph.
+     */
+    public ChannelDependencies() {
+
+        _inputs = new HashMap<>();
+
+        _updated = 0;
+        _skipped = 0;
+
+    }
+
+    /**
+     * Add a color band, depending on every channel of its tuple type but its own.
+     * @param band The color band to add.
+     */
+    public void addBand(ColorBand band) {
+
+        //one bit per channel, built once so updates only test the bits
+        int mask = 0;
+
+        for (Channel channel : CHANNELS) {
+            if (channel != band.getChannel()) {
+                mask |= 1 << channel.ordinal();
+            }
+        }
+
+        _inputs.put(band, new Inputs(mask));
+
+    }
+
+    /**
+     * Forget the inputs of every band, so each one gets new colors on its next update.
+     */
+    public void invalidate() {
+
+        for (Inputs inputs : _inputs.values()) {
+            Arrays.fill(inputs._levels, -1);
+        }
+
+    }
+
+    /**
+     * Check if the colors of a band depend on a channel.
+     * @param band The color band.
+     * @param channel The channel of the band's tuple type.
+     * @return True if the band's colors change with the channel, false otherwise.
+     */
+    public boolean dependsOn(ColorBand band, Channel channel) {
+
+        Inputs inputs = _inputs.get(band);
+
+        return inputs != null && (inputs._mask & (1 << channel.ordinal())) != 0;
+
+    }
+
+    /**
+     * Check if a band needs new colors for a color, and remember the inputs if it does.
+     * Bands that were never added always need new colors.
+     * @param band The color band.
+     * @param tuple The color, of the band's tuple type.
+     * @return True if an input of the band changed at 8-bit precision, false to skip it.
+     */
+    public boolean update(ColorBand band, ColorTuple tuple) {
+
+        Inputs inputs = _inputs.get(band);
+
+        if (inputs == null) {
+            return true;
+        }
+
+        int[] levels = inputs._levels;
+        boolean changed = false;
+
+        for (Channel channel : CHANNELS) {
+
+            if ((inputs._mask & (1 << channel.ordinal())) == 0) {
+                continue;
+            }
+
+            int level = tuple.getChannelAsInt(channel, LEVELS);
+
+            if (levels[channel.ordinal()] != level) {
+                levels[channel.ordinal()] = level;
+                changed = true;
+            }
+
+        }
+
+        if (changed) {
+            _updated++;
+        } else {
+            _skipped++;
+        }
+
+        return changed;
+
+    }
+
+    /**
+     * Get the number of times a band got new colors.
+     * @return The updated count.
+     */
+    public long getUpdatedCount() {
+        return _updated;
+    }
+
+    /**
+     * Get the number of times a band was skipped because its inputs had not changed.
+     * @return The skipped count.
+     */
+    public long getSkippedCount() {
+        return _skipped;
+    }
+
+    /**
+     * The channels a band depends on, and their levels when its colors were last set.
+     */
+    private static class Inputs {
+
+        private final int _mask;
+        private final int[] _levels;
+
+        /**
+         * Build the inputs with nothing set yet.
+         * @param mask The bits of the channels the band depends on, by ordinal.
+         */
+        Inputs(int mask) {
+
+            _mask = mask;
+
+            _levels = new int[CHANNELS.length];
+            Arrays.fill(_levels, -1);
+
+        }
+
+    }
+
+}
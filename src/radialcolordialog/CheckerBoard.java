@@ -25,8 +25,14 @@ package radialcolordialog;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.RenderingHints;
+import java.awt.TexturePaint;
+import java.awt.Transparency;
 import java.awt.image.BufferedImage;
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Objects;
 
 /**
  *  This is a utility class to generate a checkerboard background image to use
@@ -35,9 +41,96 @@ import java.awt.image.BufferedImage;
  */
 public class CheckerBoard {
     
+    //shared images keyed by size and grid, held softly so they can be evicted
+    private static final HashMap<Key, SoftReference<BufferedImage>> IMAGES = new HashMap<>();
+    //shared paints keyed by grid size
+    private static final HashMap<Integer, SoftReference<TexturePaint>> PAINTS = new HashMap<>();
+    
+    private static long _hits = 0;
+    private static long _misses = 0;
+    
+    
+    /**
+     * Get a shared checker board image.  Images are cached by size and grid 
+     * and shared between all callers, so the returned image must not be drawn to.
+     * The cached images are softly referenced and may be rebuilt after they are evicted.
+     * @param width  The width of the CheckerBoard.
+     * @param height The height of the CheckerBoard.
+     * @param gridSize  The size of the grid.
+     * @return The shared CheckerBoard image.
+     */
+    public static synchronized BufferedImage getImage(int width, int height, int gridSize) {
+        
+        Key key = new Key(width, height, gridSize);
+        
+        SoftReference<BufferedImage> ref = IMAGES.get(key);
+        BufferedImage bi = ref == null ? null : ref.get();
+        
+        if(bi == null) {
+            _misses++;
+            bi = makeImage(width, height, gridSize);
+            IMAGES.put(key, new SoftReference<>(bi));
+        } else {
+            _hits++;
+        }
+        
+        return bi;
+        
+    }
+    
+    /**
+     * Get a shared checker board paint.  The paint tiles a two by two cell image
+     * anchored at the origin of user space, so it can fill any shape.
+     * @param gridSize  The size of the grid.
+     * @return The shared CheckerBoard paint.
+     */
+    public static synchronized TexturePaint getPaint(int gridSize) {
+        
+        SoftReference<TexturePaint> ref = PAINTS.get(gridSize);
+        TexturePaint paint = ref == null ? null : ref.get();
+        
+        if(paint == null) {
+            _misses++;
+            int tile = gridSize * 2;
+            paint = new TexturePaint(makeImage(tile, tile, gridSize), new Rectangle(0, 0, tile, tile));
+            PAINTS.put(gridSize, new SoftReference<>(paint));
+        } else {
+            _hits++;
+        }
+        
+        return paint;
+        
+    }
+    
+    /**
+     * Get the number of requests served from the cache.
+     * @return The number of cache hits.
+     */
+    public static synchronized long getHitCount() {
+        return _hits;
+    }
+    
+    /**
+     * Get the number of requests that had to build a new image.
+     * @return The number of cache misses.
+     */
+    public static synchronized long getMissCount() {
+        return _misses;
+    }
+    
+    /**
+     * Drop all the cached images and paints, and reset the counts.
+     */
+    public static synchronized void clearCache() {
+        IMAGES.clear();
+        PAINTS.clear();
+        _hits = 0;
+        _misses = 0;
+    }
     
     /**
      * Make a checker board background icon for display.
+     * This always builds a new image, use getImage to share one.
      * The width and height should be evenly divisible by the grid size.
      * @param width  The width of the CheckerBoard.
      * @param height The height of the CheckerBoard.
@@ -52,7 +145,7 @@ public class CheckerBoard {
         int w = width; 
         int h = height; 
 
-        BufferedImage bi = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+        BufferedImage bi = Util.createCompatibleImage(w, h, Transparency.OPAQUE);
         Graphics2D g = (Graphics2D)bi.getGraphics();
         
         g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
@@ -101,4 +194,38 @@ public class CheckerBoard {
     
     
     
+    /**
+     * Cache key of the image size and grid size.
+     */
+    private static final class Key {
+        
+        private final int _width;
+        private final int _height;
+        private final int _gridSize;
+        
+        Key(int width, int height, int gridSize) {
+            _width = width;
+            _height = height;
+            _gridSize = gridSize;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return _width == other._width && _height == other._height && _gridSize == other._gridSize;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(_width, _height, _gridSize);
+        }
+        
+    }
+    
 }
@@ -23,14 +23,30 @@
  */
 package radialcolordialog;
 
+import java.awt.AlphaComposite;
 import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
 import java.awt.geom.AffineTransform;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Area;
 import java.awt.geom.Ellipse2D;
 import java.awt.geom.Line2D;
 import java.awt.geom.Path2D;
 import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.IndexColorModel;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.swing.SwingUtilities;
 
 /**
  *  The ColorBand is a radially aligned slider for color channels (r,g,b, etc.).
@@ -44,6 +60,10 @@ import java.awt.geom.Point2D;
  */
 public class ColorBand implements InteractiveSlider {
 
+    //padding around the cached image for anti-aliased edges
+    private static final int CACHE_PAD = 2;
+    //colors in the indexed palette, the last is transparent
+    private static final int PALETTE_SIZE = 256;
     
     private ColorBandListener _listener;
     
@@ -56,6 +76,21 @@ public class ColorBand implements InteractiveSlider {
     private double _arcWidth;
 
     private double _arcLength;
+
+    //ray end points for painting - layout never changes
+    private double[] _rayStartX;
+    private double[] _rayStartY;
+    private double[] _rayEndX;
+    private double[] _rayEndY;
+    private int[] _rayColors;
+
+    //unit vectors of the arc ends and squared radii for hit testing
+    private double _beginX;
+    private double _beginY;
+    private double _endX;
+    private double _endY;
+    private double _innerRadiusSq;
+    private double _outerRadiusSq;
     
     private boolean _isCircle;
 
@@ -73,6 +108,52 @@ public class ColorBand implements InteractiveSlider {
     
     private ControlHandle _controlHandle;
 
+    private ColorBandEvent _event;
+
+    private BufferedImage _cacheImage;
+    private AffineTransform _cacheTrans;
+    private boolean _dirty;
+    private double _renderedTheta;
+
+    private RenderMode _renderMode;
+    private Area _bandShape;
+    private int[] _pixels;
+    private int[] _colorTable;
+
+    //shared polar coordinates of the display, null to compute them
+    //volatile and set after the ring and row, which the rebuild tasks read after the map
+    private volatile PolarMap _polarMap;
+    private int _mapRing;
+    private int _mapRow;
+
+    //indexed mode - the palette index of each fully covered pixel (shared by every recolor),
+    //and the partially covered edge pixels, drawn on top from a separate image
+    private WritableRaster _indexRaster;
+    private int[] _fringeX;
+    private int[] _fringeY;
+    private int[] _fringeIndex;
+    private int[] _fringeAlpha;
+    private BufferedImage _fringeImage;
+    private int[] _palette;
+
+    //layout of the cached image in world coordinates - never changes
+    private int _cacheX;
+    private int _cacheY;
+    private int _cacheW;
+    private int _cacheH;
+
+    //draw the handle from the shared sprites instead of the path
+    private boolean _handleSprites;
+
+    //asynchronous rebuilds - the callback is null when the image is rebuilt on render
+    private Runnable _rebuiltCallback;
+    private long _version;
+    private long _scheduledVersion;
+    private long _renderedVersion;
+    private final AtomicReference<BandImage> _published;
+    //goes up when rebuilds are turned off, so images still being built are dropped
+    private volatile int _generation;
+
     /**
      * Build the color band from the color and layout specifications
      * @param listener  Listener for changes to the selected channel.
@@ -111,13 +192,63 @@ public class ColorBand implements InteractiveSlider {
 
         //init the handle path
         initHandlePath();
+
+        //init the rays and hit test geometry
+        initRays();
+        initHitTest();
         
         _controlHandle = new ControlHandle(new Point2D.Double(_radius,0),true);
 
+        //one event is reused for every change
+        _event = new ColorBandEvent(this);
+
         //current values
         _value = 0;
         _curTheta = _arcBegin;
 
+        //no cached image until the first render
+        _cacheImage = null;
+        _dirty = true;
+        _renderedTheta = Double.NaN;
+        initCache();
+
+        _handleSprites = false;
+
+        _rebuiltCallback = null;
+        _version = 0;
+        _scheduledVersion = -1;
+        _renderedVersion = -1;
+        _published = new AtomicReference<>();
+        _generation = 0;
+
+        _renderMode = RenderMode.Rays;
+        _bandShape = null;
+        _pixels = null;
+        _indexRaster = null;
+        _fringeImage = null;
+        _palette = null;
+        _polarMap = null;
+        //one color per pixel along the outer edge
+        _colorTable = new int[(int) Math.ceil(_arcSweep * getOuterRadius()) + 1];
+
+    }
+
+    /**
+     * Initialize the layout of the cached image.  The image covers the bounds of the band 
+     * and is laid out top down (screen orientation), so drawing it back into world 
+     * coordinates resolves to a plain translation.
+     */
+    private void initCache() {
+
+        Rectangle2D bounds = getBandBounds(getOuterRadius());
+
+        _cacheX = (int) Math.floor(bounds.getMinX()) - CACHE_PAD;
+        _cacheY = (int) Math.floor(bounds.getMinY()) - CACHE_PAD;
+        _cacheW = (int) Math.ceil(bounds.getMaxX()) + CACHE_PAD - _cacheX;
+        _cacheH = (int) Math.ceil(bounds.getMaxY()) + CACHE_PAD - _cacheY;
+
+        _cacheTrans = new AffineTransform(1, 0, 0, -1, _cacheX, _cacheY + _cacheH);
+
     }
 
     /**
@@ -144,6 +275,64 @@ public class ColorBand implements InteractiveSlider {
 
     }
 
+    /**
+     * Initialize the end points of the rays used to paint the band.
+     * The rays are spaced along the arc length by a fixed increment.
+     */
+    private void initRays() {
+
+        double lenInc = 3;
+        //chop arc length by length increment
+        int n = (int) Math.round(_arcLength / lenInc);
+
+        //increment angle
+        double thetaInc = _arcSweep / n;
+
+        //ray lengths
+        double lenS = getInnerRadius();
+        double lenE = getOuterRadius();
+
+        double cx = _center.getX();
+        double cy = _center.getY();
+
+        _rayStartX = new double[n];
+        _rayStartY = new double[n];
+        _rayEndX = new double[n];
+        _rayEndY = new double[n];
+
+        for (int i = 0; i < n; i++) {
+
+            double t = _arcBegin + (thetaInc * i);
+            double cos = Math.cos(t);
+            double sin = Math.sin(t);
+
+            _rayStartX[i] = cx + lenS * cos;
+            _rayStartY[i] = cy + lenS * sin;
+            _rayEndX[i] = cx + lenE * cos;
+            _rayEndY[i] = cy + lenE * sin;
+
+        }
+
+    }
+
+    /**
+     * Initialize the geometry used for hit testing.
+     * This allows points to be tested without any trigonometry.
+     */
+    private void initHitTest() {
+
+        _beginX = Math.cos(_arcBegin);
+        _beginY = Math.sin(_arcBegin);
+        _endX = Math.cos(_arcEnd);
+        _endY = Math.sin(_arcEnd);
+
+        double rIn = getInnerRadius();
+        double rOut = getOuterRadius();
+        _innerRadiusSq = rIn * rIn;
+        _outerRadiusSq = rOut * rOut;
+
+    }
+
     /**
      * Set the start and end colors of the color band.
      *
@@ -152,9 +341,164 @@ public class ColorBand implements InteractiveSlider {
      */
     public void setColors(ColorTuple start, ColorTuple end) {
 
+        //nothing to do if the range is unchanged
+        if (_colorRange.isRange(start, end)) {
+            return;
+        }
+
         _colorRange.setStart(start);
         _colorRange.setEnd(end);
 
+        changed();
+
+    }
+
+    /**
+     * Set the start and end colors of the color band from a range.
+     * @param range The range to copy the colors from.
+     */
+    void setColors(ColorRange range) {
+
+        //nothing to do if the range is unchanged
+        if (_colorRange.isRange(range)) {
+            return;
+        }
+
+        range.copyInto(_colorRange);
+
+        changed();
+
+    }
+
+    /**
+     * Copy the start and end colors of the color band.
+     * @param dest The range to copy the colors into.
+     */
+    void copyColors(ColorRange dest) {
+        _colorRange.copyInto(dest);
+    }
+
+    /**
+     * Mark the cached image as out of date, and start rebuilding it when rebuilding asynchronously.
+     */
+    private void changed() {
+
+        _dirty = true;
+        _version++;
+
+        if (isPublishing()) {
+            scheduleRebuild();
+        }
+
+    }
+
+    /**
+     * Check if the cached image of the color band needs to be rebuilt.
+     * This is set when the colors of the band change and cleared when the band is rendered
+     * (or, when rebuilding asynchronously, when the current image is published).
+     *
+     * @return True if the cached image is out of date, false otherwise.
+     */
+    public boolean isDirty() {
+
+        if (isPublishing()) {
+            BandImage published = _published.get();
+            return published == null || published._version != _version;
+        }
+
+        return _dirty;
+
+    }
+
+    /**
+     * Force the cached image to be rebuilt on the next render.
+     */
+    public void invalidate() {
+        changed();
+    }
+
+    /**
+     * Check if the cached image is rebuilt asynchronously.
+     *
+     * @return True if the image is rebuilt on the ForkJoin pool, false if it is rebuilt on render.
+     */
+    public boolean isAsyncRebuild() {
+        return _rebuiltCallback != null;
+    }
+
+    /**
+     * Check if images are rebuilt asynchronously and published.  Indexed images are always
+     * recolored in place, since that only rebuilds the color model.
+     *
+     * @return True if the published image is rendered, false if the cached image is rendered.
+     */
+    private boolean isPublishing() {
+        return _rebuiltCallback != null && _renderMode != RenderMode.Indexed;
+    }
+
+    /**
+     * Set if the cached image is rebuilt asynchronously.  When set, each change of the colors
+     * starts a rebuild on the common ForkJoin pool into a new image, and render keeps drawing the
+     * last published image until the new one is published.  Results older than the published 
+     * image are discarded.  The callback is run on the event dispatch thread after each publish,
+     * to repaint the band.
+     *
+     * @param rebuilt The callback after an image is published, null to rebuild on render.
+     */
+    public void setAsyncRebuild(Runnable rebuilt) {
+
+        _rebuiltCallback = rebuilt;
+
+        if (rebuilt == null) {
+            _generation++;
+            _published.set(null);
+            _scheduledVersion = -1;
+            _dirty = true;
+        }
+
+    }
+
+    /**
+     * Check if the handle is drawn from the shared sprites.
+     * @return True if the handle is drawn as a sprite, false if the path is rendered.
+     */
+    public boolean isHandleSprites() {
+        return _handleSprites;
+    }
+
+    /**
+     * Set if the handle is drawn from the shared sprites.  Sprites are much cheaper to draw,
+     * but the rotation is quantized to half a degree and the position to a whole pixel.
+     * @param handleSprites True to draw the handle as a sprite, false to render the path.
+     */
+    public void setHandleSprites(boolean handleSprites) {
+        _handleSprites = handleSprites;
+    }
+
+    /**
+     * Get the mode used to paint the band.
+     *
+     * @return The render mode of the band.
+     */
+    public RenderMode getRenderMode() {
+        return _renderMode;
+    }
+
+    /**
+     * Set the mode used to paint the band.
+     * This invalidates the cached image if the mode changes.
+     *
+     * @param mode The render mode to use.
+     */
+    public void setRenderMode(RenderMode mode) {
+
+        if (_renderMode != mode) {
+            _renderMode = mode;
+            //the raster mode needs its own image type
+            _cacheImage = null;
+            changed();
+        }
+
     }
 
     /**
@@ -278,7 +622,8 @@ public class ColorBand implements InteractiveSlider {
         _value = inputSweep / _arcSweep;
         
         //notify listener
-        _listener.colorBandChanged( new ColorBandEvent(this));
+        _event.refresh();
+        _listener.colorBandChanged(_event);
         
         
     }
@@ -336,50 +681,662 @@ public class ColorBand implements InteractiveSlider {
 
     /**
      * Render the Color Band.
+     * This draws the cached image of the band, rebuilding it first if the colors have changed.
+     * When rebuilding asynchronously, this draws the last published image instead.
+     * @param g2 The graphics object to render to.
+     */
+    public void render(Graphics2D g2) {
+
+        if (isPublishing()) {
+            renderPublished(g2);
+            return;
+        }
+
+        if (_dirty || _cacheImage == null) {
+            updateCache();
+        }
+
+        g2.drawImage(_cacheImage, _cacheTrans, null);
+
+        //the partially covered edge pixels of the indexed image
+        if (_renderMode == RenderMode.Indexed) {
+            g2.drawImage(_fringeImage, _cacheTrans, null);
+        }
+
+    }
+
+    /**
+     * Render the last published image.  The first image is built on the spot so there is
+     * always something to draw, after that a stale image is drawn while the rebuild runs.
+     * @param g2 The graphics object to render to.
+     */
+    private void renderPublished(Graphics2D g2) {
+
+        BandImage published = _published.get();
+
+        if (published == null) {
+            publish(new BandImage(buildImage(_colorRange, _renderMode), _version), _generation);
+            published = _published.get();
+        } else if (published._version != _version) {
+            scheduleRebuild();
+        }
+
+        g2.drawImage(published._image, _cacheTrans, null);
+
+        _renderedVersion = published._version;
+
+    }
+
+    /**
+     * Start rebuilding the image for the current version on the common ForkJoin pool,
+     * unless it is already being rebuilt.  The task gets its own copy of the colors.
+     */
+    private void scheduleRebuild() {
+
+        if (_scheduledVersion == _version) {
+            return;
+        }
+
+        final long version = _version;
+        final RenderMode mode = _renderMode;
+        final ColorRange range = new ColorRange();
+        _colorRange.copyInto(range);
+
+        final Runnable rebuilt = _rebuiltCallback;
+        final int generation = _generation;
+
+        _scheduledVersion = version;
+
+        ForkJoinPool.commonPool().execute(() -> {
+
+            if (publish(new BandImage(buildImage(range, mode), version), generation)) {
+                SwingUtilities.invokeLater(rebuilt);
+            }
+
+        });
+
+    }
+
+    /**
+     * Publish an image, unless a newer one is already published, or the rebuilds
+     * were turned off since the image was started.
+     * @param image The image to publish.
+     * @param generation The generation of the rebuilds when the image was started.
+     * @return True if the image was published, false if it was stale.
+     */
+    private boolean publish(BandImage image, int generation) {
+
+        BandImage current;
+
+        do {
+
+            current = _published.get();
+
+            //checked after the read, turning off bumps the generation before clearing
+            if (generation != _generation) {
+                return false;
+            }
+
+            if (current != null && current._version >= image._version) {
+                return false;
+            }
+
+        } while (!_published.compareAndSet(current, image));
+
+        return true;
+
+    }
+
+    /**
+     * Get the cached image of the color band.
+     * @return The cached image, null if the band has not been rendered.
+     */
+    Image getCacheImage() {
+
+        if (isPublishing()) {
+            BandImage published = _published.get();
+            return published == null ? null : published._image;
+        }
+
+        return _cacheImage;
+
+    }
+
+    /**
+     * Create an image for the cache.
+     * @param mode The render mode the image is for.
+     * @return The new image.
+     */
+    private BufferedImage createCacheImage(RenderMode mode) {
+
+        //raster mode writes packed ARGB pixels, everything else draws into an image matched to the screen
+        if (mode == RenderMode.Raster) {
+            return new BufferedImage(_cacheW, _cacheH, BufferedImage.TYPE_INT_ARGB);
+        }
+
+        return Util.createCompatibleImage(_cacheW, _cacheH, Transparency.TRANSLUCENT);
+
+    }
+
+    /**
+     * Rebuild the cached image of the color band in place.
+     */
+    private void updateCache() {
+
+        //only the color model changes
+        if (_renderMode == RenderMode.Indexed) {
+            updateIndexed();
+            _dirty = false;
+            return;
+        }
+
+        //geometry never changes, so the image and buffers are created once and reused
+        if (_cacheImage == null) {
+            _cacheImage = createCacheImage(_renderMode);
+        }
+        if (_renderMode == RenderMode.Raster && _pixels == null) {
+            _pixels = new int[_cacheW * _cacheH];
+        }
+        if (_renderMode == RenderMode.Rays && _rayColors == null) {
+            _rayColors = new int[_rayStartX.length];
+        }
+
+        renderImage(_cacheImage, _colorRange, _renderMode, _colorTable, _pixels, _rayColors);
+
+        _dirty = false;
+
+    }
+
+    /**
+     * Recolor the indexed image.  The palette index of each pixel never changes, so only the 
+     * color model is rebuilt from the range, and the image is rewrapped around the same raster.
+     * The edge pixels are written to the fringe image with their coverage as alpha.
+     */
+    private void updateIndexed() {
+
+        if (_indexRaster == null) {
+            initIndexed();
+        }
+
+        //last index is transparent
+        _colorRange.fillPacked(_palette, PALETTE_SIZE - 1, _tupleType);
+        _palette[PALETTE_SIZE - 1] = 0;
+
+        IndexColorModel model = new IndexColorModel(8, PALETTE_SIZE, _palette, 0, true, PALETTE_SIZE - 1, DataBuffer.TYPE_BYTE);
+        _cacheImage = new BufferedImage(model, _indexRaster, false, null);
+
+        WritableRaster fringe = _fringeImage.getRaster();
+        int[] argb = new int[1];
+
+        for (int i = 0; i < _fringeX.length; i++) {
+            argb[0] = (_fringeAlpha[i] << 24) | (_palette[_fringeIndex[i]] & 0xFFFFFF);
+            fringe.setDataElements(_fringeX[i], _fringeY[i], argb);
+        }
+
+    }
+
+    /**
+     * Build the palette index of each pixel of the indexed image, and the edge pixels. 
+     * This uses the same coverage as the raster mode, with the position along the arc 
+     * quantized to the palette.
+     */
+    private void initIndexed() {
+
+        int w = _cacheW;
+        int h = _cacheH;
+
+        _indexRaster = Raster.createInterleavedRaster(DataBuffer.TYPE_BYTE, w, h, 1, null);
+        _fringeImage = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+        _palette = new int[PALETTE_SIZE];
+
+        byte[] indices = new byte[w * h];
+        Arrays.fill(indices, (byte) (PALETTE_SIZE - 1));
+
+        //edge pixels, grown as needed
+        int capacity = (int) Math.ceil(_arcLength) + 64;
+        int[] fx = new int[capacity];
+        int[] fy = new int[capacity];
+        int[] fi = new int[capacity];
+        int[] fa = new int[capacity];
+        int n = 0;
+
+        int last = PALETTE_SIZE - 2;
+        double[] fraction = new double[1];
+
+        for (int j = 0; j < h; j++) {
+
+            for (int i = 0; i < w; i++) {
+
+                double cov = samplePixel(i, j, fraction);
+
+                if (cov <= 0) {
+                    continue;
+                }
+
+                int index = (int) (fraction[0] * last + 0.5);
+
+                if (cov >= 1) {
+                    indices[j * w + i] = (byte) index;
+                    continue;
+                }
+
+                if (n == fx.length) {
+                    fx = Arrays.copyOf(fx, n * 2);
+                    fy = Arrays.copyOf(fy, n * 2);
+                    fi = Arrays.copyOf(fi, n * 2);
+                    fa = Arrays.copyOf(fa, n * 2);
+                }
+
+                fx[n] = i;
+                fy[n] = j;
+                fi[n] = index;
+                fa[n] = (int) (cov * 255 + 0.5);
+                n++;
+
+            }
+
+        }
+
+        _indexRaster.setDataElements(0, 0, w, h, indices);
+
+        _fringeX = Arrays.copyOf(fx, n);
+        _fringeY = Arrays.copyOf(fy, n);
+        _fringeIndex = Arrays.copyOf(fi, n);
+        _fringeAlpha = Arrays.copyOf(fa, n);
+
+    }
+
+    /**
+     * Build a new image of the color band.  Only the layout of the band (which never changes)
+     * is shared, the colors and all buffers belong to the call, so this can run on any thread.
+     * @param range The colors of the band.
+     * @param mode The render mode.
+     * @return The new image.
+     */
+    private BufferedImage buildImage(ColorRange range, RenderMode mode) {
+
+        BufferedImage image = createCacheImage(mode);
+
+        int[] pixels = mode == RenderMode.Raster ? new int[_cacheW * _cacheH] : null;
+        int[] rayColors = mode == RenderMode.Rays ? new int[_rayStartX.length] : null;
+
+        renderImage(image, range, mode, new int[_colorTable.length], pixels, rayColors);
+
+        return image;
+
+    }
+
+    /**
+     * Render the color band into an image of the cache layout.
+     * @param image The image to render into (cleared first).
+     * @param range The colors of the band.
+     * @param mode The render mode.
+     * @param table The buffer for the color table.
+     * @param pixels The buffer for the pixels (raster mode only).
+     * @param rayColors The buffer for the ray colors (rays mode only).
+     */
+    private void renderImage(BufferedImage image, ColorRange range, RenderMode mode, int[] table, int[] pixels, int[] rayColors) {
+
+        //pixels are computed directly - no graphics needed
+        if (mode == RenderMode.Raster) {
+            renderPixels(image, range, table, pixels);
+            return;
+        }
+
+        Graphics2D g2 = image.createGraphics();
+
+        g2.setComposite(AlphaComposite.Clear);
+        g2.fillRect(0, 0, _cacheW, _cacheH);
+        g2.setComposite(AlphaComposite.SrcOver);
+
+        g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setRenderingHint(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_QUALITY);
+
+        //world to image - flip y
+        g2.translate(-_cacheX, _cacheY + _cacheH);
+        g2.scale(1.0, -1.0);
+
+        if (mode == RenderMode.Paint) {
+            renderShape(g2, range);
+        } else {
+            renderRays(g2, range, rayColors);
+        }
+
+        g2.dispose();
+
+    }
+
+    /**
+     * Render the band as a single fill of the band shape with a ConicBandPaint.
+     *
+     * @param g2 The graphics object to render to.
+     * @param range The colors of the band.
+     */
+    private void renderShape(Graphics2D g2, ColorRange range) {
+
+        g2.setPaint(new ConicBandPaint(range, _tupleType, _center, _arcBegin, _arcEnd, _colorTable.length));
+        g2.fill(getBandShape());
+
+    }
+
+    /**
+     * Get the shape of the band, building it on first use.
+     * This is synchronized since asynchronous rebuilds can ask for it at the same time.
+     *
+     * @return The shape of the band in world coordinates.
+     */
+    private synchronized Area getBandShape() {
+
+        //geometry never changes - build the shape once
+        if (_bandShape == null) {
+            _bandShape = createBandShape();
+        }
+
+        return _bandShape;
+
+    }
+
+    /**
+     * Create the shape of the band.  This is the ring between the inner and outer radii,
+     * cut down to the arc sweep if the band is not a full circle.
+     *
+     * @return The shape of the band in world coordinates.
+     */
+    private Area createBandShape() {
+
+        double cx = _center.getX();
+        double cy = _center.getY();
+        double rIn = getInnerRadius();
+        double rOut = getOuterRadius();
+
+        Ellipse2D inEll = new Ellipse2D.Double();
+        inEll.setFrameFromCenter(cx, cy, cx - rIn, cy - rIn);
+
+        Ellipse2D outEll = new Ellipse2D.Double();
+        outEll.setFrameFromCenter(cx, cy, cx - rOut, cy - rOut);
+
+        Area shape = new Area(outEll);
+        shape.subtract(new Area(inEll));
+
+        if (!_isCircle) {
+
+            //Arc2D angles run clockwise in world coordinates (y up)
+            double pr = rOut + 1;
+            Arc2D pie = new Arc2D.Double(cx - pr, cy - pr, pr * 2, pr * 2,
+                    -Util.rToD(_arcBegin), -Util.rToD(_arcSweep), Arc2D.PIE);
+
+            shape.intersect(new Area(pie));
+
+        }
+
+        return shape;
+
+    }
+
+    /**
+     * Compute the pixels of the cached image from their polar coordinates.
+     * Each pixel takes its color from the angle around the center, and its alpha from
+     * how much of the pixel is covered by the band.  This anti-aliases the inner and
+     * outer radii (and the ends of an arc) without any masking.
+     *
+     * @param image The image to write the pixels to.
+     * @param range The colors of the band.
+     * @param table The buffer for the color table.
+     * @param pixels The buffer for the pixels (the size of the image).
+     */
+    private void renderPixels(BufferedImage image, ColorRange range, int[] table, int[] pixels) {
+
+        int w = _cacheW;
+        int h = _cacheH;
+
+        range.fillPacked(table, table.length, _tupleType);
+
+        int last = table.length - 1;
+        double[] fraction = new double[1];
+
+        for (int j = 0; j < h; j++) {
+
+            int row = j * w;
+
+            for (int i = 0; i < w; i++) {
+
+                double cov = samplePixel(i, j, fraction);
+
+                if (cov <= 0) {
+                    pixels[row + i] = 0;
+                    continue;
+                }
+
+                int alpha = cov >= 1 ? 255 : (int) (cov * 255 + 0.5);
+                int index = (int) (fraction[0] * last + 0.5);
+
+                pixels[row + i] = (alpha << 24) | (table[index] & 0xFFFFFF);
+
+            }
+
+        }
+
+        //copy through the raster so the image stays managed
+        image.getRaster().setDataElements(0, 0, w, h, pixels);
+
+    }
+
+    /**
+     * Sample the center of a pixel of the cached image.  This looks up the polar map when
+     * the band has one, and computes the polar coordinates otherwise.
+     * @param i The column of the pixel.
+     * @param j The row of the pixel (top down).
+     * @param fraction Receives the position along the arc (0.0 to 1.0) of covered pixels.
+     * @return The coverage of the pixel by the band (0.0 to 1.0), 0 or less if not covered.
+     */
+    private double samplePixel(int i, int j, double[] fraction) {
+
+        double TAO = Math.PI * 2;
+
+        double dist;
+        double theta;
+        double cov;
+
+        PolarMap map = _polarMap;
+
+        if (map != null) {
+
+            int index = (_mapRow + j) * map.getWidth() + _cacheX + i;
+
+            if (map.getRing(index) != _mapRing) {
+                return 0;
+            }
+
+            dist = map.getRadius(index);
+            theta = map.getTheta(index);
+            cov = map.getCoverage(index) / 255.0;
+
+        } else {
+
+            //image is top down, world is bottom up
+            double dx = (_cacheX + i + 0.5) - _center.getX();
+            double dy = (_cacheY + _cacheH - j - 0.5) - _center.getY();
+            dist = Math.sqrt(dx * dx + dy * dy);
+
+            //radial coverage
+            cov = Math.min(dist - getInnerRadius(), getOuterRadius() - dist) + 0.5;
+
+            if (cov <= 0) {
+                return cov;
+            }
+
+            theta = Math.atan2(dy, dx);
+            if (theta < 0) {
+                theta += TAO;
+            }
+
+        }
+
+        double sweep = getArcSweep(_arcBegin, theta);
+
+        if (!_isCircle) {
+
+            double edge;
+
+            if (sweep > _arcSweep) {
+                //outside the arc - distance to the closest end
+                edge = -Math.min(sweep - _arcSweep, TAO - sweep) * dist;
+                sweep = (sweep - _arcSweep < TAO - sweep) ? _arcSweep : 0;
+            } else {
+                //inside the arc - distance to the closest end
+                edge = Math.min(sweep, _arcSweep - sweep) * dist;
+            }
+
+            cov = Math.min(cov, edge + 0.5);
+
+        }
+
+        fraction[0] = sweep / _arcSweep;
+
+        return cov;
+
+    }
+
+    /**
+     * Set the polar map to rasterize the band from.  The map is only used if it has the 
+     * center and ring of this band and covers the cached image, otherwise the polar 
+     * coordinates are computed per pixel.
+     * @param map The polar map, null to compute the polar coordinates.
+     */
+    void setPolarMap(PolarMap map) {
+
+        PolarMap use = null;
+        int ring = map == null ? -1 : map.findRing(getInnerRadius(), getOuterRadius());
+
+        if (ring >= 0 && _center.equals(map.getCenter())
+                && _cacheX >= 0 && _cacheY >= 0
+                && _cacheX + _cacheW <= map.getWidth() && _cacheY + _cacheH <= map.getHeight()) {
+            use = map;
+        }
+
+        if (use == _polarMap) {
+            return;
+        }
+
+        _mapRing = ring;
+        _mapRow = use == null ? 0 : use.getHeight() - _cacheY - _cacheH;
+        _polarMap = use;
+
+        //the indexed pixels come from the map as well
+        _indexRaster = null;
+        changed();
+
+    }
+
+    /**
+     * Get the bounds of the color band in world coordinates.
+     * This is the bounding box of the arc sweep, including the handle at any position.
+     *
+     * @return The bounds of the color band.
+     */
+    @Override
+    public Rectangle2D getBounds() {
+
+        //furthest corner of the handle from the center
+        Rectangle2D hb = _controlHandle.getBounds();
+        double hy = Math.max(Math.abs(hb.getMinY()), Math.abs(hb.getMaxY()));
+        double reach = Math.sqrt((hb.getMaxX() * hb.getMaxX()) + (hy * hy));
+
+        Rectangle2D bounds = getBandBounds(Math.max(getOuterRadius(), reach));
+
+        //the handle is as wide as it is tall at the ends of the arc - pad for the outline too
+        double pad = hy + 1;
+        bounds.setRect(bounds.getX() - pad, bounds.getY() - pad,
+                bounds.getWidth() + (pad * 2), bounds.getHeight() + (pad * 2));
+
+        return bounds;
+
+    }
+
+    /**
+     * Check if the colors or the handle changed since the band was last rendered.
+     *
+     * @return True if the band needs to be repainted, false otherwise.
+     */
+    @Override
+    public boolean needsRepaint() {
+
+        //the colors only show once the new image is published
+        if (isPublishing()) {
+            BandImage published = _published.get();
+            return (published != null && published._version != _renderedVersion) || _curTheta != _renderedTheta;
+        }
+
+        return _dirty || _curTheta != _renderedTheta;
+
+    }
+
+    /**
+     * Get the bounds of the arc sweep in world coordinates.
+     *
+     * @param rOut The outer radius of the sweep.
+     * @return The bounding box of the arc sweep between the inner and outer radii.
+     */
+    private Rectangle2D getBandBounds(double rOut) {
+
+        double rIn = getInnerRadius();
+
+        Rectangle2D bounds = new Rectangle2D.Double();
+        bounds.setFrameFromDiagonal(polarFromCenter(rIn, _arcBegin), polarFromCenter(rOut, _arcBegin));
+        bounds.add(polarFromCenter(rIn, _arcEnd));
+        bounds.add(polarFromCenter(rOut, _arcEnd));
+
+        //add the extremes on each axis that fall within the sweep
+        for (int i = 0; i < 4; i++) {
+
+            double theta = i * (Math.PI / 2.0);
+
+            if (_isCircle || getArcSweep(_arcBegin, theta) <= _arcSweep) {
+                bounds.add(polarFromCenter(rOut, theta));
+            }
+
+        }
+
+        return bounds;
+
+    }
+
+    /**
+     * Render the rays of the Color Band.
      * This renders the band by painting the arc sweep with radially aligned lines.
      * THe colors are generated from the color range. 
      * @param g2 The graphics object to render to.
+     * @param range The colors of the band.
+     * @param rayColors The buffer for the ray colors.
      */
-    public void render(Graphics2D g2) {
+    private void renderRays(Graphics2D g2, ColorRange range, int[] rayColors) {
 
         g2.setStroke(new BasicStroke(2f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_ROUND));
-        double lenInc = 3;
-        //chop arc length by length increment
-        int n = (int) Math.round(_arcLength / lenInc);
 
-        //increment angle
-        double thetaInc = _arcSweep / n;
-        //start angle
-        double theta = _arcBegin;
+        int n = _rayStartX.length;
 
-        //ray lengths
-        double lenS = _radius - (_arcWidth / 2);
-        double lenE = _radius + (_arcWidth / 2);
+        //one color per ray
+        range.fillPacked(rayColors, n, _tupleType);
 
         Line2D line = new Line2D.Double();
+        Color cc = null;
 
         for (int i = 0; i < n; i++) {
 
-            double t = _arcBegin + (thetaInc * i);
-
-            Point2D sp = polarFromCenter(lenS, t);
-            Point2D ep = polarFromCenter(lenE, t);
-            line.setLine(sp, ep);
-
-            float ct = (float) i / (float) (n - 1);
+            line.setLine(_rayStartX[i], _rayStartY[i], _rayEndX[i], _rayEndY[i]);
 
-
-            //get the tuple
-            ColorTuple c = _colorRange.getTuple(ct);
-            Color cc = c.getColor(_tupleType);
-            //get the color
-            g2.setColor(cc);
+            //neighboring rays often share a color
+            if (cc == null || cc.getRGB() != rayColors[i]) {
+                cc = new Color(rayColors[i]);
+                g2.setColor(cc);
+            }
 
             g2.draw(line);
 
         }
 
-    }//end render
+    }//end renderRays
 
     /**
      * Render an outline mask for this Color band. This renders a full circle
@@ -415,6 +1372,14 @@ public class ColorBand implements InteractiveSlider {
      */
     public void renderHandle(Graphics2D g2) {
 
+        //a single image draw at the polar location of the handle
+        if (_handleSprites) {
+            double x = _center.getX() + _radius * Math.cos(_curTheta);
+            double y = _center.getY() + _radius * Math.sin(_curTheta);
+            _controlHandle.renderSprite(g2, x, y, _curTheta);
+            _renderedTheta = _curTheta;
+            return;
+        }
         
         AffineTransform cTrans = g2.getTransform();
 
@@ -433,6 +1398,8 @@ public class ColorBand implements InteractiveSlider {
         //restore transform
         g2.setTransform(cTrans);
 
+        _renderedTheta = _curTheta;
+
     }
 
     /**
@@ -529,8 +1496,8 @@ public class ColorBand implements InteractiveSlider {
     @Override
     public void updateFromPoint(Point2D point) {
       
-        Point2D polarPoint = worldToPolar(point);
-        updateFromScreen(polarPoint.getY());
+        //only the angle is needed - updateFromScreen normalizes it
+        updateFromScreen(Util.anglePointPoint(_center, point));
         
         
     }
@@ -543,35 +1510,36 @@ public class ColorBand implements InteractiveSlider {
     @Override
     public boolean containsPoint(Point2D point) {
         
-        Point2D polarPoint = worldToPolar(point);
+        double dx = point.getX() - _center.getX();
+        double dy = point.getY() - _center.getY();
+        double distSq = (dx * dx) + (dy * dy);
+        
+        //outside the radii?
+        if (distSq < _innerRadiusSq || distSq > _outerRadiusSq) {
+            return false;
+        }
+        
+        //only distance matters for a circle
+        if (_isCircle) {
+            return true;
+        }
+        
+        //side of each arc end (cross products)
+        double crossBegin = (_beginX * dy) - (_beginY * dx);
+        double crossEnd = (dx * _endY) - (dy * _endX);
+        
+        if (_arcSweep <= Math.PI) {
+            //counter clockwise of the beginning and clockwise of the end
+            return crossBegin >= 0 && crossEnd >= 0;
+        }
         
-        return containsPolar(polarPoint.getX(), polarPoint.getY());
+        //large sweep - not in the gap between the end and the beginning
+        return !(crossBegin < 0 && crossEnd < 0);
         
     }
     
     
-    /**
-     * Convert a world point to polar coordinates (in world space).
-     * The point returned represents polar coordinates (x=distance, y=angle);
-     *
-     * @param mouseX World x coordinate.
-     * @param mouseY World y coordinate (mouse) y point.
-     * @return A point representing polar coordinates with the distance stored in x, and the angle in radians stored in y.
-     */
-    private Point2D worldToPolar(Point2D point) {
-
-  
-        double theta = Util.anglePointPoint(_center, point);
-
-        //normalize theta to positive value
-        if (theta < 0) {
-            theta += Math.PI * 2;
-        }
-
-        double dist = _center.distance(point);
-
-        return new Point2D.Double(dist, theta);
-    }    
+   
     
     
     
@@ -586,4 +1554,19 @@ public class ColorBand implements InteractiveSlider {
     
 //</editor-fold>
 
+    /**
+     * A published image of the band and the version of the colors it shows.
+     */
+    private static final class BandImage {
+
+        private final BufferedImage _image;
+        private final long _version;
+
+        BandImage(BufferedImage image, long version) {
+            _image = image;
+            _version = version;
+        }
+
+    }
+
 }
@@ -48,6 +48,16 @@ public class ColorBandEvent {
         
     }
     
+    /**
+     * Refresh the event from the current value of the ColorBand.
+     * This allows the ColorBand to reuse one event for every change.
+     */
+    void refresh() {
+        
+        _value = _colorBand.getValue();
+        
+    }
+    
     /**
      * Get the value of the event ColorBand.
      * This will be in the range of 0.0 to 1.0
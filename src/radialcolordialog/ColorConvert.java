@@ -0,0 +1,266 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Tom.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package radialcolordialog;
+
+/**
+ * Color conversion between RGB, HSB, and packed ARGB values.
+ * The results match java.awt.Color (Color.HSBtoRGB, Color.RGBtoHSB, and the float Color constructor)
+ * exactly, but the outputs are supplied by the caller so nothing is allocated.
+ * The bulk methods work on interleaved arrays, three floats per color.
+ * @author Tom
+ */
+public class ColorConvert {
+
+    private static final int OPAQUE = 0xFF000000;
+
+    /**
+     * Pack float RGB values (0.0 to 1.0) to an opaque ARGB value.
+     * This rounds the same as the float constructor of java.awt.Color.
+     * @param r The red value (0.0 to 1.0).
+     * @param g The green value (0.0 to 1.0).
+     * @param b The blue value (0.0 to 1.0).
+     * @return The packed opaque ARGB value.
+     */
+    public static int rgbToPacked(float r, float g, float b) {
+        return OPAQUE | (roundRGB(r) << 16) | (roundRGB(g) << 8) | roundRGB(b);
+    }
+
+    /**
+     * Pack HSB values (0.0 to 1.0) to an opaque ARGB value, the same as Color.HSBtoRGB.
+     * @param h The hue, only the fraction is used.
+     * @param s The saturation (0.0 to 1.0).
+     * @param v The brightness (0.0 to 1.0).
+     * @return The packed opaque ARGB value.
+     */
+    public static int hsbToPacked(float h, float s, float v) {
+
+        if (s == 0) {
+            int c = toByte(v);
+            return OPAQUE | (c << 16) | (c << 8) | c;
+        }
+
+        float sector = (h - (float) Math.floor(h)) * 6.0f;
+        float f = sector - (float) Math.floor(sector);
+        float p = v * (1.0f - s);
+        float q = v * (1.0f - s * f);
+        float t = v * (1.0f - (s * (1.0f - f)));
+
+        switch ((int) sector) {
+            case 0:
+                return OPAQUE | (toByte(v) << 16) | (toByte(t) << 8) | toByte(p);
+            case 1:
+                return OPAQUE | (toByte(q) << 16) | (toByte(v) << 8) | toByte(p);
+            case 2:
+                return OPAQUE | (toByte(p) << 16) | (toByte(v) << 8) | toByte(t);
+            case 3:
+                return OPAQUE | (toByte(p) << 16) | (toByte(q) << 8) | toByte(v);
+            case 4:
+                return OPAQUE | (toByte(t) << 16) | (toByte(p) << 8) | toByte(v);
+            case 5:
+                return OPAQUE | (toByte(v) << 16) | (toByte(p) << 8) | toByte(q);
+            default:
+                return OPAQUE;
+        }
+
+    }
+
+    /**
+     * Convert integer RGB values (0-255) to HSB, the same as Color.RGBtoHSB.
+     * @param r The red value (0-255).
+     * @param g The green value (0-255).
+     * @param b The blue value (0-255).
+     * @param hsbOut The array to write the hue, saturation, and brightness to.
+     * @param offset The index in the array of the hue.
+     */
+    public static void rgbToHSB(int r, int g, int b, float[] hsbOut, int offset) {
+
+        int cmax = Math.max(Math.max(r, g), b);
+        int cmin = Math.min(Math.min(r, g), b);
+
+        hsbOut[offset] = hue(r, g, b, cmax, cmin);
+        hsbOut[offset + 1] = saturation(cmax, cmin);
+        hsbOut[offset + 2] = ((float) cmax) / 255.0f;
+
+    }
+
+    /**
+     * Convert integer RGB values (0-255) to HSB.
+     * @param r The red value (0-255).
+     * @param g The green value (0-255).
+     * @param b The blue value (0-255).
+     * @param hsbOut The tuple to set to the hue, saturation, and brightness.
+     */
+    public static void rgbToHSB(int r, int g, int b, ColorTuple hsbOut) {
+
+        int cmax = Math.max(Math.max(r, g), b);
+        int cmin = Math.min(Math.min(r, g), b);
+
+        hsbOut.set(hue(r, g, b, cmax, cmin), saturation(cmax, cmin), ((float) cmax) / 255.0f);
+
+    }
+
+    /**
+     * Convert a packed ARGB value to HSB, ignoring the alpha.
+     * @param argb The packed ARGB value.
+     * @param hsbOut The tuple to set to the hue, saturation, and brightness.
+     */
+    public static void packedToHSB(int argb, ColorTuple hsbOut) {
+        rgbToHSB((argb >> 16) & 0xFF, (argb >> 8) & 0xFF, argb & 0xFF, hsbOut);
+    }
+
+    /**
+     * Convert a packed ARGB value to float RGB values (0.0 to 1.0), ignoring the alpha.
+     * @param argb The packed ARGB value.
+     * @param rgbOut The tuple to set to the red, green, and blue.
+     */
+    public static void packedToRGB(int argb, ColorTuple rgbOut) {
+        rgbOut.set(((argb >> 16) & 0xFF) / 255.0f, ((argb >> 8) & 0xFF) / 255.0f, (argb & 0xFF) / 255.0f);
+    }
+
+    /**
+     * Pack float RGB colors to opaque ARGB values.
+     * @param rgb The interleaved red, green, and blue values (0.0 to 1.0).
+     * @param argbOut The array to write the packed values to.
+     * @param n The number of colors to convert.
+     */
+    public static void rgbToPacked(float[] rgb, int[] argbOut, int n) {
+
+        for (int i = 0, j = 0; i < n; i++, j += 3) {
+            argbOut[i] = rgbToPacked(rgb[j], rgb[j + 1], rgb[j + 2]);
+        }
+
+    }
+
+    /**
+     * Pack HSB colors to opaque ARGB values.
+     * @param hsb The interleaved hue, saturation, and brightness values (0.0 to 1.0).
+     * @param argbOut The array to write the packed values to.
+     * @param n The number of colors to convert.
+     */
+    public static void hsbToPacked(float[] hsb, int[] argbOut, int n) {
+
+        for (int i = 0, j = 0; i < n; i++, j += 3) {
+            argbOut[i] = hsbToPacked(hsb[j], hsb[j + 1], hsb[j + 2]);
+        }
+
+    }
+
+    /**
+     * Convert packed ARGB values to HSB, ignoring the alpha.
+     * @param argb The packed ARGB values.
+     * @param hsbOut The array to write the interleaved hue, saturation, and brightness values to.
+     * @param n The number of colors to convert.
+     */
+    public static void packedToHSB(int[] argb, float[] hsbOut, int n) {
+
+        for (int i = 0, j = 0; i < n; i++, j += 3) {
+            int c = argb[i];
+            rgbToHSB((c >> 16) & 0xFF, (c >> 8) & 0xFF, c & 0xFF, hsbOut, j);
+        }
+
+    }
+
+    /**
+     * Convert packed ARGB values to float RGB values (0.0 to 1.0), ignoring the alpha.
+     * @param argb The packed ARGB values.
+     * @param rgbOut The array to write the interleaved red, green, and blue values to.
+     * @param n The number of colors to convert.
+     */
+    public static void packedToRGB(int[] argb, float[] rgbOut, int n) {
+
+        for (int i = 0, j = 0; i < n; i++, j += 3) {
+            int c = argb[i];
+            rgbOut[j] = ((c >> 16) & 0xFF) / 255.0f;
+            rgbOut[j + 1] = ((c >> 8) & 0xFF) / 255.0f;
+            rgbOut[j + 2] = (c & 0xFF) / 255.0f;
+        }
+
+    }
+
+    /**
+     * Get the hue of integer RGB values, the same as Color.RGBtoHSB.
+     * @param r The red value (0-255).
+     * @param g The green value (0-255).
+     * @param b The blue value (0-255).
+     * @param cmax The largest of the values.
+     * @param cmin The smallest of the values.
+     * @return The hue (0.0 to 1.0), 0 if there is no saturation.
+     */
+    private static float hue(int r, int g, int b, int cmax, int cmin) {
+
+        if (cmax == cmin) {
+            return 0;
+        }
+
+        float span = (float) (cmax - cmin);
+
+        float hue;
+
+        //only the two distances each case needs are divided
+        if (r == cmax) {
+            hue = (((float) (cmax - b)) / span) - (((float) (cmax - g)) / span);
+        } else if (g == cmax) {
+            hue = 2.0f + (((float) (cmax - r)) / span) - (((float) (cmax - b)) / span);
+        } else {
+            hue = 4.0f + (((float) (cmax - g)) / span) - (((float) (cmax - r)) / span);
+        }
+
+        hue = hue / 6.0f;
+        if (hue < 0) {
+            hue = hue + 1.0f;
+        }
+
+        return hue;
+
+    }
+
+    /**
+     * Get the saturation of integer RGB values, the same as Color.RGBtoHSB.
+     * @param cmax The largest of the values.
+     * @param cmin The smallest of the values.
+     * @return The saturation (0.0 to 1.0).
+     */
+    private static float saturation(int cmax, int cmin) {
+        return cmax != 0 ? ((float) (cmax - cmin)) / ((float) cmax) : 0;
+    }
+
+    /**
+     * Convert a float channel (0.0 to 1.0) to 0-255, rounding the same as the float constructor of java.awt.Color.
+     * @param v The channel value (0.0 to 1.0).
+     * @return The channel as 0-255.
+     */
+    private static int roundRGB(float v) {
+        return (int) (v * 255 + 0.5);
+    }
+
+    /**
+     * Convert a float channel (0.0 to 1.0) to 0-255, rounding the same as Color.HSBtoRGB.
+     * @param v The channel value (0.0 to 1.0).
+     * @return The channel as 0-255.
+     */
+    private static int toByte(float v) {
+        return (int) (v * 255.0f + 0.5f);
+    }
+
+}
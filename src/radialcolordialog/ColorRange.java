@@ -23,6 +23,8 @@
  */
 package radialcolordialog;
 
+import java.awt.Color;
+
 /**
  * This is a helper class for interpolating between two ColorTuples.
  * This is used by the ColorBand to interpolate colors when painting/rendering.
@@ -46,21 +48,51 @@ public class ColorRange {
     
     /**
      * Set the start tuple of the range.
+     * The values are copied, so the tuple can be reused by the caller.
      * @param tuple The tuple to use as the start of the range.
      */
     public void setStart(ColorTuple tuple) {
-        _cTupleStart= tuple;
+        tuple.copyInto(_cTupleStart);
     }
     
     
     /**
      * Set the end tuple of the range.
+     * The values are copied, so the tuple can be reused by the caller.
      * @param tuple The tuple to use as the end of the range.
      */    
    public void setEnd(ColorTuple tuple) {
-        _cTupleEnd = tuple;
+        tuple.copyInto(_cTupleEnd);
     }    
     
+    /**
+     * Copy the start and end of this range into another range.
+     * @param dest The range to copy into.
+     */
+    public void copyInto(ColorRange dest) {
+        _cTupleStart.copyInto(dest._cTupleStart);
+        _cTupleEnd.copyInto(dest._cTupleEnd);
+    }
+    
+   /**
+    * Check if the range already spans the provided start and end tuples.
+    * @param start The start tuple to compare.
+    * @param end The end tuple to compare.
+    * @return True if the start and end tuples match the range, false otherwise.
+    */
+    public boolean isRange(ColorTuple start, ColorTuple end) {
+        return _cTupleStart.equals(start) && _cTupleEnd.equals(end);
+    }
+    
+   /**
+    * Check if the range already spans the start and end of another range.
+    * @param range The range to compare.
+    * @return True if the start and end tuples match, false otherwise.
+    */
+    public boolean isRange(ColorRange range) {
+        return isRange(range._cTupleStart, range._cTupleEnd);
+    }
+    
    /**
     * Get the tuple of the 't' value.  A 't' value of 0 will
     * return the start tuple, where 1 will return the end tuple.
@@ -91,4 +123,52 @@ public class ColorRange {
     }
     
     
+   /**
+    * Fill a buffer with packed ARGB colors for evenly spaced 't' values.
+    * The first sample is the start tuple and the last sample is the end tuple.
+    * This does not allocate, so it can be used when painting.
+    * @param argbOut The buffer to fill, at least 'n' in length.
+    * @param n The number of samples to write.
+    * @param type The type of the tuples (RGB or HSB).
+    */
+    public void fillPacked(int[] argbOut, int n, TupleType type) {
+        
+        float sa = _cTupleStart.getA();
+        float sb = _cTupleStart.getB();
+        float sc = _cTupleStart.getC();
+        
+        float da = _cTupleEnd.getA() - sa;
+        float db = _cTupleEnd.getB() - sb;
+        float dc = _cTupleEnd.getC() - sc;
+        
+        float last = Math.max(1, n - 1);
+        
+        for (int i = 0; i < n; i++) {
+            
+            float t = (float) i / last;
+            
+            float ca = sa + (da * t);
+            float cb = sb + (db * t);
+            float cc = sc + (dc * t);
+            
+            switch (type) {
+                
+                case RGB:
+                    argbOut[i] = ColorConvert.rgbToPacked(ca, cb, cc);
+                    break;
+                    
+                case HSB:
+                    argbOut[i] = ColorConvert.hsbToPacked(ca, cb, cc);
+                    break;
+                    
+                default:
+                    argbOut[i] = Color.RED.getRGB();
+                    
+            }
+            
+        }
+        
+    }
+    
+    
 }
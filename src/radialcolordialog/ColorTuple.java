@@ -140,6 +140,33 @@ public class ColorTuple {
     }
 
     
+    /**
+     * Set all the values of the tuple.  The values should be in the range of 0.0 to 1.0.
+     * This allows a tuple to be reused instead of creating a new one.
+     * @param a The a value (0.0 to 1.0).
+     * @param b The b value (0.0 to 1.0).
+     * @param c The c value (0.0 to 1.0).
+     */
+    public void set(float a, float b, float c) {
+
+        _a = checkDomain(a);
+        _b = checkDomain(b);
+        _c = checkDomain(c);
+
+    }
+
+    /**
+     * Copy the values of this tuple into another tuple.
+     * @param dest The tuple to copy the values into.
+     */
+    public void copyInto(ColorTuple dest) {
+
+        dest._a = _a;
+        dest._b = _b;
+        dest._c = _c;
+
+    }
+
     /**
      * Get a channel value converted to an integer from the provided range (channel * range).
      * @param channel  The channel value to use as a base value.
@@ -182,7 +209,7 @@ public class ColorTuple {
      * @return The color generated from the values as R,G,B.
      */
     public Color getRGB() {
-        return new Color(_a, _b, _c);
+        return new Color(ColorConvert.rgbToPacked(_a, _b, _c));
     }
 
     /**
@@ -191,7 +218,7 @@ public class ColorTuple {
      * @return The color generated from the values as H,S,B.
      */
     public Color getHSB() {
-        return Color.getHSBColor(_a, _b, _c);
+        return new Color(ColorConvert.hsbToPacked(_a, _b, _c));
  
     }
 
@@ -221,6 +248,64 @@ public class ColorTuple {
 
     
     
+    /**
+     * Get the packed RGB value of the tuple (as returned by Color.getRGB()).
+     * This is the same as getColor(type).getRGB(), without creating the Color.
+     * @param type Type of tuple to use as basis for conversion (RGB or HSB)
+     * @return The packed RGB value with an opaque alpha.
+     */
+    public int getPacked(TupleType type) {
+
+        switch (type) {
+
+            case RGB:
+                return ColorConvert.rgbToPacked(_a, _b, _c);
+
+            case HSB:
+                return ColorConvert.hsbToPacked(_a, _b, _c);
+
+            default:
+                return Color.RED.getRGB();
+
+        }
+
+    }
+
+    /**
+     * Compare the values of this tuple to another tuple.
+     * @param obj The object to compare to.
+     * @return True if the object is a ColorTuple with the same values, false otherwise.
+     */
+    @Override
+    public boolean equals(Object obj) {
+
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ColorTuple)) {
+            return false;
+        }
+
+        ColorTuple other = (ColorTuple) obj;
+
+        return Float.compare(_a, other._a) == 0
+                && Float.compare(_b, other._b) == 0
+                && Float.compare(_c, other._c) == 0;
+
+    }
+
+    @Override
+    public int hashCode() {
+
+        int hash = 7;
+        hash = 31 * hash + Float.floatToIntBits(_a);
+        hash = 31 * hash + Float.floatToIntBits(_b);
+        hash = 31 * hash + Float.floatToIntBits(_c);
+
+        return hash;
+
+    }
+
     /**
      * Check the domain of 't', must be in range of 0.0 to 1.0.
      *
@@ -0,0 +1,252 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Tom.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package radialcolordialog;
+
+import java.awt.Paint;
+import java.awt.PaintContext;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.NoninvertibleTransformException;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.ColorModel;
+import java.awt.image.DataBufferInt;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+
+/**
+ * ConicBandPaint is a Paint that sweeps the colors of a ColorRange around a center point.
+ * The range starts at the beginning angle of the arc and ends at the ending angle.
+ * Any point outside of the arc takes the color of the closest end.
+ * 
+ * The colors are sampled from the range when the paint is created, so later changes
+ * to the range do not affect the paint.
+ * 
+ * @author Tom
+ */
+public class ConicBandPaint implements Paint {
+
+    private static final double TAO = Math.PI * 2;
+
+    private final Point2D _center;
+    private final double _arcBegin;
+    private final double _arcSweep;
+    private final boolean _isCircle;
+
+    private final int[] _colors;
+
+    /**
+     * Build the paint from the color range and the arc specification.
+     * @param range The color range to sweep.
+     * @param type The type of the range (RGB or HSB).
+     * @param center The center of the sweep.
+     * @param arcBegin The arc starting angle in radians.
+     * @param arcEnd The arc ending angle in radians.
+     * @param samples The number of colors to sample from the range (at least 2).
+     */
+    public ConicBandPaint(ColorRange range, TupleType type, Point2D center, double arcBegin, double arcEnd, int samples) {
+
+        _center = new Point2D.Double(center.getX(), center.getY());
+        _arcBegin = normalize(arcBegin);
+
+        double end = normalize(arcEnd);
+        double sweep = end - _arcBegin;
+        if (sweep <= 0) {
+            sweep += TAO;
+        }
+        _arcSweep = sweep;
+        _isCircle = _arcSweep == TAO;
+
+        //sample the range
+        int n = Math.max(2, samples);
+        _colors = new int[n];
+        range.fillPacked(_colors, n, type);
+
+    }
+
+    /**
+     * Create the paint context for a fill.
+     * @param cm The preferred color model (ignored).
+     * @param deviceBounds The device bounds of the fill.
+     * @param userBounds The user bounds of the fill.
+     * @param xform The transform from user to device space.
+     * @param hints The rendering hints (ignored).
+     * @return The context to generate the colors of the fill.
+     */
+    @Override
+    public PaintContext createContext(ColorModel cm, Rectangle deviceBounds, Rectangle2D userBounds, AffineTransform xform, RenderingHints hints) {
+
+        AffineTransform inverse;
+
+        try {
+            inverse = xform.createInverse();
+        } catch (NoninvertibleTransformException ex) {
+            //degenerate transform - nothing will be visible anyways
+            inverse = new AffineTransform();
+        }
+
+        return new ConicBandContext(inverse);
+
+    }
+
+    /**
+     * The colors of the range are opaque.
+     * @return Always opaque.
+     */
+    @Override
+    public int getTransparency() {
+        return Transparency.OPAQUE;
+    }
+
+    /**
+     * Get the color for an angle around the center.
+     * @param theta The angle in radians (-PI to PI).
+     * @return The packed ARGB color for the angle.
+     */
+    private int colorAt(double theta) {
+
+        double sweep = theta < 0 ? theta + TAO - _arcBegin : theta - _arcBegin;
+        if (sweep < 0) {
+            sweep += TAO;
+        }
+
+        //outside the arc takes the closest end
+        if (!_isCircle && sweep > _arcSweep) {
+            sweep = (sweep - _arcSweep < TAO - sweep) ? _arcSweep : 0;
+        }
+
+        int last = _colors.length - 1;
+        int index = (int) (sweep / _arcSweep * last + 0.5);
+
+        return _colors[Math.min(index, last)];
+
+    }
+
+    /**
+     * Normalize an angle in radians to a range of 0 to 2PI.
+     * @param theta The angle in radians to normalize.
+     * @return The normalized angle.
+     */
+    private static double normalize(final double theta) {
+
+        if (theta == TAO) {
+            return theta;
+        }
+
+        double nTheta = theta % TAO;
+
+        if (nTheta < 0) {
+            nTheta += TAO;
+        }
+
+        return nTheta;
+
+    }
+
+    /**
+     * The context that generates the raster tiles for a fill.
+     * The raster is kept between tiles and only grows when a larger tile is requested.
+     */
+    private class ConicBandContext implements PaintContext {
+
+        private final AffineTransform _inverse;
+
+        private WritableRaster _raster;
+
+        /**
+         * Build the context from the inverse of the user to device transform.
+         * @param inverse The device to user transform.
+         */
+        ConicBandContext(AffineTransform inverse) {
+            _inverse = inverse;
+            _raster = null;
+        }
+
+        @Override
+        public void dispose() {
+            _raster = null;
+        }
+
+        @Override
+        public ColorModel getColorModel() {
+            return ColorModel.getRGBdefault();
+        }
+
+        /**
+         * Generate the colors for a tile.
+         * @param x The device x coordinate of the tile.
+         * @param y The device y coordinate of the tile.
+         * @param w The width of the tile.
+         * @param h The height of the tile.
+         * @return The raster containing the tile colors.
+         */
+        @Override
+        public Raster getRaster(int x, int y, int w, int h) {
+
+            if (_raster == null || _raster.getWidth() < w || _raster.getHeight() < h) {
+                _raster = getColorModel().createCompatibleWritableRaster(w, h);
+            }
+
+            int[] data = ((DataBufferInt) _raster.getDataBuffer()).getData();
+            int scan = _raster.getWidth();
+
+            //step through user space one device pixel at a time
+            double m00 = _inverse.getScaleX();
+            double m10 = _inverse.getShearY();
+            double m01 = _inverse.getShearX();
+            double m11 = _inverse.getScaleY();
+
+            double cx = _center.getX();
+            double cy = _center.getY();
+
+            for (int j = 0; j < h; j++) {
+
+                //user coordinates of the first pixel center in the row
+                double px = x + 0.5;
+                double py = y + j + 0.5;
+                double ux = m00 * px + m01 * py + _inverse.getTranslateX() - cx;
+                double uy = m10 * px + m11 * py + _inverse.getTranslateY() - cy;
+
+                int row = j * scan;
+
+                for (int i = 0; i < w; i++) {
+
+                    data[row + i] = colorAt(Math.atan2(uy, ux));
+
+                    ux += m00;
+                    uy += m10;
+
+                }
+
+            }
+
+            return _raster;
+
+        }
+
+    }
+
+}
@@ -26,8 +26,13 @@ package radialcolordialog;
 import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Path2D;
 import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
 
 /**
  *  This a class for the graphic representation of control handles used by the sliders.
@@ -40,8 +45,18 @@ public class ControlHandle {
     //width step
     private static int W_STEP = 5;
     
+    //sprite atlas - rotations quantized to half a degree, built on first use and shared by all handles
+    private static final int SPRITE_STEPS = 720;
+    private static final int SPRITE_PAD = 2;
+    private static final Sprite[][] SPRITES = new Sprite[2][SPRITE_STEPS];
+    
     private Path2D _handlePath;
     
+    //base point and layout, for the sprites
+    private final double _baseX;
+    private final double _baseY;
+    private final boolean _horizontal;
+    
     private BasicStroke _stroke;
     private Color _colorFill;
     private Color _colorStroke;
@@ -56,6 +71,10 @@ public class ControlHandle {
         
         _handlePath = new Path2D.Double();
         
+        _baseX = point.getX();
+        _baseY = point.getY();
+        _horizontal = horizontal;
+        
         _stroke = new BasicStroke(1.0f);
         _colorFill = Color.WHITE;
         _colorStroke = Color.BLACK;
@@ -112,6 +131,15 @@ public class ControlHandle {
          
     }
     
+    /**
+     * Get the bounds of the handle before it is transformed for rendering.
+     * This does not include the width of the outline.
+     * @return The bounds of the handle.
+     */
+    public Rectangle2D getBounds() {
+        return _handlePath.getBounds2D();
+    }
+    
     /**
      * Render the ControlHandle.
      * @param g2 The graphics object to render to.
@@ -131,5 +159,100 @@ public class ControlHandle {
        
        
    }
+   
+    /**
+     * Render the ControlHandle as a sprite.  The sprite is the handle pre-rendered at the
+     * nearest quantized rotation, drawn at the nearest pixel to the base point, so this is 
+     * a single image draw.  The graphics transform must not rotate or scale (the world 
+     * transform of the display only flips y).
+     * @param g2 The graphics object to render to.
+     * @param x The x coordinate to draw the base point of the handle at.
+     * @param y The y coordinate to draw the base point of the handle at.
+     * @param theta The rotation of the handle around its base point, in radians.
+     */
+    public void renderSprite(Graphics2D g2, double x, double y, double theta) {
+        
+        Sprite sprite = getSprite(theta);
+        
+        g2.drawImage(sprite._image, (int) Math.round(x) + sprite._x, (int) Math.round(y) + sprite._y, null);
+        
+    }
+    
+    /**
+     * Get the sprite for a rotation, building it on first use.
+     * This is synchronized since the render thread and prewarming can ask for sprites as well.
+     * @param theta The rotation in radians.
+     * @return The sprite for the nearest quantized rotation.
+     */
+    private Sprite getSprite(double theta) {
+        
+        int step = (int) Math.round(theta / (Math.PI * 2) * SPRITE_STEPS) % SPRITE_STEPS;
+        if (step < 0) {
+            step += SPRITE_STEPS;
+        }
+        
+        Sprite[] sprites = SPRITES[_horizontal ? 0 : 1];
+        
+        synchronized (sprites) {
+            
+            if (sprites[step] == null) {
+                sprites[step] = createSprite(step * Math.PI * 2 / SPRITE_STEPS);
+            }
+            
+            return sprites[step];
+            
+        }
+        
+    }
+    
+    /**
+     * Render the handle into a sprite.  The sprite is kept in the same orientation as the 
+     * coordinates it is drawn into, with the base point at the origin.
+     * @param theta The rotation of the sprite in radians.
+     * @return The new sprite.
+     */
+    private Sprite createSprite(double theta) {
+        
+        AffineTransform rotate = new AffineTransform();
+        rotate.rotate(theta);
+        rotate.translate(-_baseX, -_baseY);
+        
+        Rectangle2D bounds = rotate.createTransformedShape(_handlePath).getBounds2D();
+        
+        int x = (int) Math.floor(bounds.getMinX()) - SPRITE_PAD;
+        int y = (int) Math.floor(bounds.getMinY()) - SPRITE_PAD;
+        int w = (int) Math.ceil(bounds.getMaxX()) + SPRITE_PAD - x;
+        int h = (int) Math.ceil(bounds.getMaxY()) + SPRITE_PAD - y;
+        
+        BufferedImage image = Util.createCompatibleImage(w, h, Transparency.TRANSLUCENT);
+        
+        Graphics2D g2 = image.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.translate(-x, -y);
+        g2.transform(rotate);
+        render(g2);
+        g2.dispose();
+        
+        return new Sprite(image, x, y);
+        
+    }
+    
+    /**
+     * A pre-rendered handle and the offset of its image from the base point.
+     */
+    private static final class Sprite {
+        
+        private final BufferedImage _image;
+        private final int _x;
+        private final int _y;
+        
+        Sprite(BufferedImage image, int x, int y) {
+            _image = image;
+            _x = x;
+            _y = y;
+        }
+        
+    }
     
 }
@@ -32,6 +32,7 @@ public interface ControlListener {
     
     /**
      * Called when a Color in the controls has changed.
+     * The tuples are reused by the ControlPanel, copy them if they need to be kept.
      * 
      * @param rgb  The RGB tuple.
      * @param hsb  The HSB tuple.
@@ -33,13 +33,17 @@ import javax.swing.Box;
 import javax.swing.BoxLayout;
 import javax.swing.JButton;
 import javax.swing.JPanel;
+import javax.swing.Timer;
 
 /**
  *  The Control panel manages all the numeric inputs for the color channels.  It also hosts
  * the Ok and Cancel buttons.
  * @author Tom
  */
-public class ControlPanel extends JPanel implements NumericalControlListener {
+public class ControlPanel extends JPanel implements NumericalControlListener, DialogColorListener {
+
+    //refreshes per second while the color is dragged in the display
+    private static final int DRAG_REFRESH_RATE = 30;
 
     private NumericalControl _rChannelControl;
     private NumericalControl _gChannelControl;
@@ -53,13 +57,41 @@ public class ControlPanel extends JPanel implements NumericalControlListener {
 
     private ControlListener _listener;
 
-    private boolean _eventEnabled;
+    //the color shown, with the version last shown
+    private DialogColorModel _model;
+    private long _modelVersion;
+
+    //reused on every change
+    private ColorTuple _tuple;
+
+    //refreshes the controls while the color is dragged
+    private int _refreshRate;
+    private Timer _refreshTimer;
 
+    /**
+     * Construct the control panel with a color model of its own.
+     *
+     * @param listener The listener for changes and the ok/cancel buttons.
+     */
     public ControlPanel(ControlListener listener) {
+        this(listener, new DialogColorModel());
+    }
+
+    /**
+     * Construct the control panel showing a shared color model.
+     *
+     * @param listener The listener for changes and the ok/cancel buttons.
+     * @param model The color model to show and edit.
+     */
+    public ControlPanel(ControlListener listener, DialogColorModel model) {
         super();
 
         _listener = listener;
 
+        _model = model;
+        //not shown yet, the controls are set from the model once built
+        _modelVersion = -1;
+
         _rChannelControl = new NumericalControl(this, TupleType.RGB, Channel.ChannelA, "Red", 0, 255);
         _gChannelControl = new NumericalControl(this, TupleType.RGB, Channel.ChannelB, "Green", 0, 255);
         _bChannelControl = new NumericalControl(this, TupleType.RGB, Channel.ChannelC, "Blue", 0, 255);
@@ -68,12 +100,23 @@ public class ControlPanel extends JPanel implements NumericalControlListener {
         _sChannelControl = new NumericalControl(this, TupleType.HSB, Channel.ChannelB, "Saturation", 0, 100);
         _vChannelControl = new NumericalControl(this, TupleType.HSB, Channel.ChannelC, "Brightness", 0, 100);
 
-        _aChannelControl = new NumericalControl(this, TupleType.RGB, Channel.ChannelA, "Alpha", 0, 255);
+        _aChannelControl = new NumericalControl(this, TupleType.Alpha, Channel.ChannelA, "Alpha", 0, 255);
 
-        _eventEnabled = true;
+        _tuple = new ColorTuple();
+
+        _refreshRate = DRAG_REFRESH_RATE;
+        _refreshTimer = new Timer(1000 / _refreshRate, (ActionEvent ev) -> {
+            //stop once the drag has nothing new to show
+            if (!showModel()) {
+                _refreshTimer.stop();
+            }
+        });
 
         init();
 
+        _model.addListener(this);
+        showModel();
+
     }
 
     /**
@@ -149,6 +192,8 @@ public class ControlPanel extends JPanel implements NumericalControlListener {
 
     /**
      * Called by the NumericalControl when a spinner has changed.
+     * Spinners updated from the color model have the value of the model, so 
+     * only edits that differ from it change the color.
      *
      * @param type The color type of the control.
      * @param channel The channel of the control.
@@ -157,28 +202,24 @@ public class ControlPanel extends JPanel implements NumericalControlListener {
     @Override
     public void valueChanged(TupleType type, Channel channel, int value) {
 
-        //suppress event when disabled.
-        //this suppresss events when updating one set of controls to another
-        //otherwise you will get endless loop....
-        if (!_eventEnabled) {
+        if (isCurrent(type, channel, value)) {
             return;
         }
 
+        Object update = FlightEvents.beginColorUpdate();
        
-        //check the type and update accordingly
-        //rgb updates hsb / hsb updates rgb
+        //check the type and update the model accordingly
+        //the model converts rgb to hsb / hsb to rgb and updates all the controls
         switch (type) {
 
             case RGB:
 
-                int cr = _rChannelControl.getValue();
-                int cg = _gChannelControl.getValue();
-                int cb = _bChannelControl.getValue();
-                
-                Color rgbColor = new Color(cr,cg,cb);
+                float sr = _rChannelControl.getValueScale();
+                float sg = _gChannelControl.getValueScale();
+                float sb = _bChannelControl.getValueScale();
                 
-                //update the HSB controls
-                updateHSBControls(rgbColor);
+                _tuple.set(sr, sg, sb);
+                _model.setRGB(_tuple, _aChannelControl.getValue(), this);
                 
                 break;
 
@@ -188,19 +229,15 @@ public class ControlPanel extends JPanel implements NumericalControlListener {
                 float ss = _sChannelControl.getValueScale();
                 float sv = _vChannelControl.getValueScale();
 
-                //pack values to tuple
-                ColorTuple hsbTuple = new ColorTuple(sh, ss, sv);
-                //pull the rgb color from the tuple
-                Color rgbColorFromHSB = hsbTuple.getColor(TupleType.HSB);
-                //update the RGB controls
-                updateRGBControls(rgbColorFromHSB);
+                _tuple.set(sh, ss, sv);
+                _model.setHSB(_tuple, _aChannelControl.getValue(), this);
 
                 break;
 
             case Alpha:
                 
                 //noting to do here... No cross talk with alpha
-                //onChange() will pick up the change
+                _model.setAlpha(value, this);
 
                 break;
 
@@ -208,29 +245,68 @@ public class ControlPanel extends JPanel implements NumericalControlListener {
 
         onChange();
 
+        FlightEvents.endColorUpdate(update, FlightEvents.CONTROLS);
+
     }
 
     /**
-     * Gather the input values and notify listener.
-     * Make sure all controls are updated before calling this.
+     * Check if a control value is the value the color model has for it.
+     *
+     * @param type The color type of the control.
+     * @param channel The channel of the control.
+     * @param value The value of the control.
+     * @return True if the value is the same as in the model, false otherwise.
      */
-    private void onChange() {
+    private boolean isCurrent(TupleType type, Channel channel, int value) {
+
+        switch (type) {
+
+            case RGB:
+                return getControl(type, channel).getValueFromTuple(_model.getRGB()) == value;
+
+            case HSB:
+                return getControl(type, channel).getValueFromTuple(_model.getHSB()) == value;
+
+            default:
+                return _model.getAlpha() == value;
+
+        }
+
+    }
+
+    /**
+     * Get the control of a color channel.
+     *
+     * @param type The color type of the control (RGB or HSB).
+     * @param channel The channel of the control.
+     * @return The control of the channel.
+     */
+    private NumericalControl getControl(TupleType type, Channel channel) {
+
+        boolean rgb = type == TupleType.RGB;
+
+        switch (channel) {
+
+            case ChannelA:
+                return rgb ? _rChannelControl : _hChannelControl;
+
+            case ChannelB:
+                return rgb ? _gChannelControl : _sChannelControl;
+
+            default:
+                return rgb ? _bChannelControl : _vChannelControl;
 
-        float sr = _rChannelControl.getValueScale();
-        float sg = _gChannelControl.getValueScale();
-        float sb = _bChannelControl.getValueScale();
+        }
 
-        float sh = _hChannelControl.getValueScale();
-        float ss = _sChannelControl.getValueScale();
-        float sv = _vChannelControl.getValueScale();
-        
-        int alpha = _aChannelControl.getValue();
+    }
 
-        ColorTuple rgb = new ColorTuple(sr, sg, sb);
-        ColorTuple hsb = new ColorTuple(sh, ss, sv);
+    /**
+     * Notify the listener with the color of the model.
+     */
+    private void onChange() {
 
         //notify the listener
-        _listener.colorUpdatedFromInputs(rgb, hsb, alpha);
+        _listener.colorUpdatedFromInputs(_model.getRGB(), _model.getHSB(), _model.getAlpha());
 
     }
 
@@ -246,18 +322,48 @@ public class ControlPanel extends JPanel implements NumericalControlListener {
     }
 
     /**
-     * Update the controls from the display panel.
-     * This disables events and sets the controls from teh provided colors and alpha.
+     * Called when the color model changes.  All the controls are set from the model,
+     * also for changes made in this panel, as they change the other set of controls.
+     * While the color is dragged in another view, the controls are refreshed at the 
+     * drag refresh rate, and set once more when the drag ends.
      *
-     * @param rgb The RGB tuple to update from.
-     * @param hsb The HSB tuple to update from.
-     * @param alpha The alpha value to update from.
+     * @param model The color model.
+     * @param source The view that changed the color.
      */
-    public void updateFromDisplay(ColorTuple rgb, ColorTuple hsb, int alpha) {
+    @Override
+    public void colorModelChanged(DialogColorModel model, Object source) {
+
+        if (model.isAdjusting() && source != this && _refreshRate > 0) {
+
+            //show the first change right away, the timer picks up the rest
+            if (!_refreshTimer.isRunning() && showModel()) {
+                _refreshTimer.start();
+            }
+
+            return;
+        }
+
+        _refreshTimer.stop();
+
+        showModel();
+
+    }
+
+    /**
+     * Set the controls from the color model, unless they already show its version.
+     *
+     * @return True if the controls were set, false if they were current.
+     */
+    private boolean showModel() {
+
+        if (_model.getVersion() == _modelVersion) {
+            return false;
+        }
 
-        
+        _modelVersion = _model.getVersion();
 
-        _eventEnabled = false;
+        ColorTuple rgb = _model.getRGB();
+        ColorTuple hsb = _model.getHSB();
 
         _rChannelControl.updateFromTuple(rgb);
         _gChannelControl.updateFromTuple(rgb);
@@ -267,86 +373,75 @@ public class ControlPanel extends JPanel implements NumericalControlListener {
         _sChannelControl.updateFromTuple(hsb);
         _vChannelControl.updateFromTuple(hsb);
 
-        _aChannelControl.updateFromInteger(alpha);
+        _aChannelControl.updateFromInteger(_model.getAlpha());
 
-        _eventEnabled = true;
+        return true;
 
     }
 
     /**
-     * Load the initial Dialog Color.
-     * 
-     * @param color The color loaded into the dialog.
+     * Get the rate the controls are refreshed at while the color is dragged in the display.
+     *
+     * @return The refreshes per second, 0 if the controls follow every change.
      */
-    public void loadInitialColor(Color color) {
-
- 
-        _eventEnabled = false;
-        int a = color.getAlpha();
-        _aChannelControl.updateFromInteger(a);
-        _eventEnabled = true;
-
-        updateRGBControls(color);
-        updateHSBControls(color);
-
+    public int getDragRefreshRate() {
+        return _refreshRate;
     }
 
     /**
-     * Update the HSB Controls from an RGB color.
-     * This is used to update the controls when an RGB color changes.
-     * The RGB color will be converted to HSB and then the controls are updated.
-     * @param color The Color to update the controls from.
+     * Set the rate the controls are refreshed at while the color is dragged in the display.
+     * Setting the spinners is costly, so by default they are refreshed 30 times a second
+     * and set to the final color when the drag ends.  The display is not affected.
+     *
+     * @param rate The refreshes per second, 0 to follow every change.
      */
-    private void updateHSBControls(Color color) {
+    public void setDragRefreshRate(int rate) {
+
+        _refreshRate = Math.max(0, rate);
+
+        if (_refreshRate > 0) {
+            int delay = 1000 / _refreshRate;
+            _refreshTimer.setDelay(delay);
+            _refreshTimer.setInitialDelay(delay);
+        } else {
+            //catch up with a drag in progress
+            _refreshTimer.stop();
+            showModel();
+        }
 
+    }
 
-        int r = color.getRed();
-        int g = color.getGreen();
-        int b = color.getBlue();
+    /**
+     * Update the controls from a display panel that doesn't share the color model.
+     *
+     * @param rgb The RGB tuple to update from.
+     * @param hsb The HSB tuple to update from.
+     * @param alpha The alpha value to update from.
+     */
+    public void updateFromDisplay(ColorTuple rgb, ColorTuple hsb, int alpha) {
 
-        float[] vals;
-        vals = Color.RGBtoHSB(r, g, b, null);
+        _model.setValues(rgb, hsb, alpha, null);
 
-        float ht = vals[0];
-        float st = vals[1];
-        float bt = vals[2];
+    }
 
-        ColorTuple hsb = new ColorTuple(ht, st, bt);
+    /**
+     * Load the initial Dialog Color.
+     * 
+     * @param color The color loaded into the dialog.
+     */
+    public void loadInitialColor(Color color) {
 
-        _eventEnabled = false;
-        
-        _hChannelControl.updateFromTuple(hsb);
-        _sChannelControl.updateFromTuple(hsb);
-        _vChannelControl.updateFromTuple(hsb);
-        
-        _eventEnabled = true;
+        _model.setColor(color, null);
 
     }
-    
 
-    
     /**
-     * Update the RGB Controls from an RGB color.
-     * This is used to update the controls when an HSB color changes.
-     * @param color The color to update the controls from.
+     * Get the color model shown by the controls.
+     *
+     * @return The color model.
      */
-    private void updateRGBControls(Color color) {
-        
-        int r = color.getRed();
-        int g = color.getGreen();
-        int b = color.getBlue();
-
-        _eventEnabled = false;
-        
-        _rChannelControl.updateFromInteger(r);
-        _gChannelControl.updateFromInteger(g);
-        _bChannelControl.updateFromInteger(b);        
-        
-        _eventEnabled = true;
-        
-        
-        
+    public DialogColorModel getDialogColorModel() {
+        return _model;
     }
-    
 
 }
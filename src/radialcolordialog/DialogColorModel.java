@@ -0,0 +1,318 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Tom.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package radialcolordialog;
+
+import java.awt.Color;
+import java.util.ArrayList;
+
+/**
+ * The color edited in the dialog, shared by the display, the controls and the dialog.
+ * The model holds the RGB and HSB values and the alpha together.  When one of them is set, 
+ * the other is converted once, the version goes up, and every listener is notified in one pass.
+ * Views remember the version they last showed, so a change they already have is skipped.
+ * 
+ * Call this on the event dispatch thread.
+ * @author Tom
+ */
+public class DialogColorModel {
+    
+    private final ColorTuple _rgb;
+    private final ColorTuple _hsb;
+    private int _alpha;
+    
+    //packed ARGB value of the color
+    private int _argb;
+    //created on demand, when the color is asked for
+    private Color _color;
+    
+    private long _version;
+    
+    //true while the color is dragged in a view
+    private boolean _adjusting;
+    
+    private final ArrayList<DialogColorListener> _listeners;
+    
+    /**
+     * Construct the model with opaque black.
+     */
+    public DialogColorModel() {
+        
+        _rgb = new ColorTuple();
+        _hsb = new ColorTuple();
+        _alpha = 255;
+        
+        _argb = Color.BLACK.getRGB();
+        _color = Color.BLACK;
+        
+        _version = 0;
+        
+        _adjusting = false;
+        
+        _listeners = new ArrayList<>();
+        
+    }
+    
+    /**
+     * Add a listener to notify when the color changes.
+     * @param listener The listener to add.
+     */
+    public void addListener(DialogColorListener listener) {
+        _listeners.add(listener);
+    }
+    
+    /**
+     * Remove a listener.
+     * @param listener The listener to remove.
+     */
+    public void removeListener(DialogColorListener listener) {
+        _listeners.remove(listener);
+    }
+    
+    /**
+     * Load a color.  Every listener is notified, even when the color is the same, 
+     * so all the views start from the loaded color.
+     * @param color The color to load, with its alpha.
+     * @param source The view loading the color, or null.
+     */
+    public void setColor(Color color, Object source) {
+        
+        _argb = color.getRGB();
+        _color = color;
+        _alpha = color.getAlpha();
+        
+        ColorConvert.packedToRGB(_argb, _rgb);
+        ColorConvert.packedToHSB(_argb, _hsb);
+        
+        fireChanged(source);
+        
+    }
+    
+    /**
+     * Set the color from RGB values.  The HSB values are converted from the 8-bit color.
+     * Nothing happens if the values are the same.
+     * @param rgb The red, green and blue values (0.0 to 1.0), the tuple is copied.
+     * @param alpha The alpha value (0 to 255).
+     * @param source The view making the change, or null.
+     */
+    public void setRGB(ColorTuple rgb, int alpha, Object source) {
+        
+        if (_rgb.equals(rgb) && _alpha == alpha) {
+            return;
+        }
+        
+        rgb.copyInto(_rgb);
+        
+        setPacked(rgb.getPacked(TupleType.RGB), alpha);
+        ColorConvert.packedToHSB(_argb, _hsb);
+        
+        fireChanged(source);
+        
+    }
+    
+    /**
+     * Set the color from HSB values.  The RGB values are converted from the 8-bit color.
+     * Nothing happens if the values are the same.
+     * @param hsb The hue, saturation and brightness values (0.0 to 1.0), the tuple is copied.
+     * @param alpha The alpha value (0 to 255).
+     * @param source The view making the change, or null.
+     */
+    public void setHSB(ColorTuple hsb, int alpha, Object source) {
+        
+        if (_hsb.equals(hsb) && _alpha == alpha) {
+            return;
+        }
+        
+        hsb.copyInto(_hsb);
+        
+        setPacked(hsb.getPacked(TupleType.HSB), alpha);
+        ColorConvert.packedToRGB(_argb, _rgb);
+        
+        fireChanged(source);
+        
+    }
+    
+    /**
+     * Set the RGB and HSB values together, without any conversion.
+     * Nothing happens if the values are the same.
+     * @param rgb The red, green and blue values (0.0 to 1.0), the tuple is copied.
+     * @param hsb The hue, saturation and brightness values (0.0 to 1.0), the tuple is copied.
+     * @param alpha The alpha value (0 to 255).
+     * @param source The view making the change, or null.
+     */
+    public void setValues(ColorTuple rgb, ColorTuple hsb, int alpha, Object source) {
+        
+        if (_rgb.equals(rgb) && _hsb.equals(hsb) && _alpha == alpha) {
+            return;
+        }
+        
+        rgb.copyInto(_rgb);
+        hsb.copyInto(_hsb);
+        
+        setPacked(rgb.getPacked(TupleType.RGB), alpha);
+        
+        fireChanged(source);
+        
+    }
+    
+    /**
+     * Set the alpha value.  Nothing happens if the value is the same.
+     * @param alpha The alpha value (0 to 255).
+     * @param source The view making the change, or null.
+     */
+    public void setAlpha(int alpha, Object source) {
+        
+        if (_alpha == alpha) {
+            return;
+        }
+        
+        setPacked(_argb, alpha);
+        
+        fireChanged(source);
+        
+    }
+    
+    /**
+     * Set the packed color and the alpha.  The color object is created again when asked for.
+     * @param rgb The packed RGB value (the alpha is ignored).
+     * @param alpha The alpha value (0 to 255).
+     */
+    private void setPacked(int rgb, int alpha) {
+        
+        _alpha = alpha;
+        _argb = (alpha << 24) | (rgb & 0xFFFFFF);
+        
+        if (_color != null && _color.getRGB() != _argb) {
+            _color = null;
+        }
+        
+    }
+    
+    /**
+     * Set if the color is being adjusted, while it is dragged in a view.  Views can show
+     * the changes at a lower rate while adjusting.  The listeners are notified when this
+     * changes, but the version stays, as the color is the same.
+     * @param adjusting True when a drag starts, false when it ends.
+     * @param source The view adjusting the color, or null.
+     */
+    public void setAdjusting(boolean adjusting, Object source) {
+        
+        if (_adjusting == adjusting) {
+            return;
+        }
+        
+        _adjusting = adjusting;
+        
+        notifyListeners(source);
+        
+    }
+    
+    /**
+     * Check if the color is being adjusted.
+     * @return True while the color is dragged in a view, false otherwise.
+     */
+    public boolean isAdjusting() {
+        return _adjusting;
+    }
+    
+    /**
+     * Move to the next version and notify the listeners.
+     * @param source The view that made the change, or null.
+     */
+    private void fireChanged(Object source) {
+        
+        _version++;
+        
+        notifyListeners(source);
+        
+    }
+    
+    /**
+     * Notify the listeners of the model.
+     * @param source The view that made the change, or null.
+     */
+    private void notifyListeners(Object source) {
+        
+        //a listener changing the model again notifies everyone with the newer version,
+        //the rest of this pass is then skipped by the version check of the views
+        for (int i = 0; i < _listeners.size(); i++) {
+            _listeners.get(i).colorModelChanged(this, source);
+        }
+        
+    }
+    
+    /**
+     * Get the version of the color.  The version goes up on every change.
+     * @return The version of the color.
+     */
+    public long getVersion() {
+        return _version;
+    }
+    
+    /**
+     * Get the red, green and blue values.  The tuple is owned by the model, don't change it.
+     * @return The RGB tuple.
+     */
+    public ColorTuple getRGB() {
+        return _rgb;
+    }
+    
+    /**
+     * Get the hue, saturation and brightness values.  The tuple is owned by the model, don't change it.
+     * @return The HSB tuple.
+     */
+    public ColorTuple getHSB() {
+        return _hsb;
+    }
+    
+    /**
+     * Get the alpha value.
+     * @return The alpha value (0 to 255).
+     */
+    public int getAlpha() {
+        return _alpha;
+    }
+    
+    /**
+     * Get the packed ARGB value of the color (as returned by Color.getRGB()).
+     * @return The packed ARGB value.
+     */
+    public int getPacked() {
+        return _argb;
+    }
+    
+    /**
+     * Get the color with its alpha.  A new color is only created when the color changed.
+     * @return The color.
+     */
+    public Color getColor() {
+        
+        if (_color == null) {
+            _color = new Color(_argb, true);
+        }
+        
+        return _color;
+        
+    }
+    
+}
@@ -35,6 +35,7 @@ public interface DisplayListener {
     
     /**
      * Called when the ColorBands or AlphaSlider update the color in the DisplayPanel.
+     * The tuples are reused by the DisplayPanel, copy them if they need to be kept.
      * @param rgb The Red, Green, Blue tuple.
      * @param hsb The Hue, Saturation, Brightness tuple.
      * @param alpha The alpha value (0 to 255).
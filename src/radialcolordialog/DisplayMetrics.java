@@ -0,0 +1,357 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Tom.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package radialcolordialog;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rendering and interaction metrics of a DisplayPanel.
+ * The counters are lock free (adders, atomics, and a log scale histogram for the
+ * paint time percentile) so they can be left on.
+ * @author Tom
+ */
+public class DisplayMetrics implements DisplayMetricsMXBean {
+
+    //sub buckets per power of two in the histogram (3 bits, 12.5% resolution)
+    private static final int SUB_BITS = 3;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int BUCKETS = 64 * SUB_COUNT;
+
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    //window the drag rate is measured over
+    private static final long RATE_WINDOW = 1000000000L;
+
+    //allocation counter, null if the JVM does not support it
+    private static final com.sun.management.ThreadMXBean THREADS = initThreads();
+
+    private final LongAdder _paintCount;
+    private final LongAdder _paintNanos;
+    private final AtomicLong _paintMin;
+    private final AtomicLongArray _paintHistogram;
+    private final LongAdder _paintBytes;
+
+    private final LongAdder _dragCount;
+    //drags in the current window, and the rate of the last finished window
+    private final AtomicLong _rateTime;
+    private final AtomicLong _rateCount;
+    private volatile double _dragRate;
+
+    private final LongAdder _listenerCount;
+    private final LongAdder _listenerNanos;
+
+    private final LongAdder _bandHits;
+    private final LongAdder _bandMisses;
+
+    /**
+     * Build the metrics with all counters at zero.
+     */
+    public DisplayMetrics() {
+
+        _paintCount = new LongAdder();
+        _paintNanos = new LongAdder();
+        _paintMin = new AtomicLong(Long.MAX_VALUE);
+        _paintHistogram = new AtomicLongArray(BUCKETS);
+        _paintBytes = new LongAdder();
+
+        _dragCount = new LongAdder();
+        _rateTime = new AtomicLong(System.nanoTime());
+        _rateCount = new AtomicLong();
+        _dragRate = 0;
+
+        _listenerCount = new LongAdder();
+        _listenerNanos = new LongAdder();
+
+        _bandHits = new LongAdder();
+        _bandMisses = new LongAdder();
+
+    }
+
+    /**
+     * Get the thread bean if it can measure allocated bytes.
+     * @return The thread bean, null if allocations can not be measured.
+     */
+    private static com.sun.management.ThreadMXBean initThreads() {
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+
+            com.sun.management.ThreadMXBean sunThreads = (com.sun.management.ThreadMXBean) threads;
+
+            if (sunThreads.isThreadAllocatedMemorySupported() && sunThreads.isThreadAllocatedMemoryEnabled()) {
+                return sunThreads;
+            }
+
+        }
+
+        return null;
+
+    }
+
+    /**
+     * Get the bytes allocated so far by the current thread.
+     * @return The allocated bytes, -1 if allocations can not be measured.
+     */
+    static long allocatedBytes() {
+        return THREADS != null ? THREADS.getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+    }
+
+    /**
+     * Record a paint.
+     * @param nanos The time of the paint in nanoseconds.
+     * @param bytes The bytes allocated by the paint, negative if unknown.
+     */
+    void recordPaint(long nanos, long bytes) {
+
+        _paintCount.increment();
+        _paintNanos.add(nanos);
+        _paintHistogram.incrementAndGet(bucket(nanos));
+
+        if (bytes > 0) {
+            _paintBytes.add(bytes);
+        }
+
+        long min = _paintMin.get();
+        while (nanos < min && !_paintMin.compareAndSet(min, nanos)) {
+            min = _paintMin.get();
+        }
+
+    }
+
+    /**
+     * Record a drag event.
+     */
+    void recordDrag() {
+
+        _dragCount.increment();
+
+        //roll the window once it is over, reading the rate has no side effects
+        long now = System.nanoTime();
+        long start = _rateTime.get();
+
+        if (now - start >= RATE_WINDOW && _rateTime.compareAndSet(start, now)) {
+            _dragRate = _rateCount.getAndSet(0) * 1e9 / (now - start);
+        }
+
+        _rateCount.incrementAndGet();
+
+    }
+
+    /**
+     * Record a notification of the listener.
+     * @param nanos The time spent in the listener in nanoseconds.
+     */
+    void recordListener(long nanos) {
+        _listenerCount.increment();
+        _listenerNanos.add(nanos);
+    }
+
+    /**
+     * Record a render of a color band.
+     * @param hit True if the cached image was drawn, false if it was rebuilt.
+     */
+    void recordBandCache(boolean hit) {
+
+        if (hit) {
+            _bandHits.increment();
+        } else {
+            _bandMisses.increment();
+        }
+
+    }
+
+    @Override
+    public long getPaintCount() {
+        return _paintCount.sum();
+    }
+
+    @Override
+    public double getPaintTimeMin() {
+        long min = _paintMin.get();
+        return min == Long.MAX_VALUE ? 0 : min / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getPaintTimeMean() {
+        long count = _paintCount.sum();
+        return count == 0 ? 0 : _paintNanos.sum() / NANOS_PER_MILLI / count;
+    }
+
+    @Override
+    public double getPaintTimeP99() {
+
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += _paintHistogram.get(i);
+        }
+
+        if (total == 0) {
+            return 0;
+        }
+
+        //count down from the top until 1% of the paints are above
+        long above = total / 100;
+        long seen = 0;
+
+        for (int i = BUCKETS - 1; i >= 0; i--) {
+
+            seen += _paintHistogram.get(i);
+
+            if (seen > above) {
+                return upperBound(i) / NANOS_PER_MILLI;
+            }
+
+        }
+
+        return 0;
+
+    }
+
+    @Override
+    public long getBytesPerPaint() {
+
+        if (THREADS == null) {
+            return -1;
+        }
+
+        long count = _paintCount.sum();
+        return count == 0 ? 0 : _paintBytes.sum() / count;
+
+    }
+
+    @Override
+    public long getDragCount() {
+        return _dragCount.sum();
+    }
+
+    @Override
+    public double getDragsPerSecond() {
+
+        //no drags for a whole window, the last rate is out of date
+        if (System.nanoTime() - _rateTime.get() >= 2 * RATE_WINDOW) {
+            return 0;
+        }
+
+        return _dragRate;
+
+    }
+
+    @Override
+    public long getListenerCount() {
+        return _listenerCount.sum();
+    }
+
+    @Override
+    public double getListenerTimeMean() {
+        long count = _listenerCount.sum();
+        return count == 0 ? 0 : _listenerNanos.sum() / NANOS_PER_MILLI / count;
+    }
+
+    @Override
+    public long getBandCacheHits() {
+        return _bandHits.sum();
+    }
+
+    @Override
+    public long getBandCacheMisses() {
+        return _bandMisses.sum();
+    }
+
+    @Override
+    public long getCheckerBoardHits() {
+        return CheckerBoard.getHitCount();
+    }
+
+    @Override
+    public long getCheckerBoardMisses() {
+        return CheckerBoard.getMissCount();
+    }
+
+    @Override
+    public void reset() {
+
+        _paintCount.reset();
+        _paintNanos.reset();
+        _paintMin.set(Long.MAX_VALUE);
+        for (int i = 0; i < BUCKETS; i++) {
+            _paintHistogram.set(i, 0);
+        }
+        _paintBytes.reset();
+
+        _dragCount.reset();
+        _rateTime.set(System.nanoTime());
+        _rateCount.set(0);
+        _dragRate = 0;
+
+        _listenerCount.reset();
+        _listenerNanos.reset();
+
+        _bandHits.reset();
+        _bandMisses.reset();
+
+    }
+
+    /**
+     * Get the histogram bucket of a time.  Times below the sub bucket count have their own
+     * bucket, above that each power of two is split into sub buckets.
+     * @param nanos The time in nanoseconds.
+     * @return The bucket index.
+     */
+    private static int bucket(long nanos) {
+
+        if (nanos < SUB_COUNT) {
+            return (int) Math.max(0, nanos);
+        }
+
+        int exp = 63 - Long.numberOfLeadingZeros(nanos);
+        int sub = (int) (nanos >>> (exp - SUB_BITS)) & (SUB_COUNT - 1);
+
+        return ((exp - SUB_BITS + 1) * SUB_COUNT) + sub;
+
+    }
+
+    /**
+     * Get the largest time that falls in a bucket.
+     * @param bucket The bucket index.
+     * @return The upper bound of the bucket in nanoseconds.
+     */
+    private static long upperBound(int bucket) {
+
+        if (bucket < SUB_COUNT) {
+            return bucket;
+        }
+
+        int exp = (bucket / SUB_COUNT) + SUB_BITS - 1;
+        long sub = bucket % SUB_COUNT;
+
+        return ((SUB_COUNT + sub + 1) << (exp - SUB_BITS)) - 1;
+
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Tom.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package radialcolordialog;
+
+/**
+ * Management interface for the rendering and interaction metrics of a DisplayPanel.
+ * Registered by RadialColorDialog.registerMetrics under radialcolordialog:type=DisplayPanel,name=&lt;name&gt;.
+ * Times are in milliseconds.
+ * @author Tom
+ */
+public interface DisplayMetricsMXBean {
+
+    /**
+     * Get the number of times the display has been painted.
+     * @return The paint count.
+     */
+    public long getPaintCount();
+
+    /**
+     * Get the shortest paint time.
+     * @return The shortest paint time in milliseconds, 0 if nothing has been painted.
+     */
+    public double getPaintTimeMin();
+
+    /**
+     * Get the mean paint time.
+     * @return The mean paint time in milliseconds.
+     */
+    public double getPaintTimeMean();
+
+    /**
+     * Get the 99th percentile of the paint time.  This is the upper bound of 
+     * a histogram bucket, so it is within 12.5% of the actual value.
+     * @return The 99th percentile paint time in milliseconds.
+     */
+    public double getPaintTimeP99();
+
+    /**
+     * Get the mean number of bytes allocated by a paint.
+     * @return The mean bytes allocated per paint, -1 if the JVM can not measure it.
+     */
+    public long getBytesPerPaint();
+
+    /**
+     * Get the number of drag events received.
+     * @return The drag event count.
+     */
+    public long getDragCount();
+
+    /**
+     * Get the drag events per second over the last second of dragging (0 when not dragging).
+     * @return The drag events per second.
+     */
+    public double getDragsPerSecond();
+
+    /**
+     * Get the number of times the other views of the color model (the controls) were 
+     * notified of a change from the sliders.
+     * @return The listener notification count.
+     */
+    public long getListenerCount();
+
+    /**
+     * Get the mean time spent notifying the other views of the color model (updating the controls),
+     * including the conversion of the color in the model.
+     * @return The mean listener time in milliseconds.
+     */
+    public double getListenerTimeMean();
+
+    /**
+     * Get the number of color band renders drawn from the cached image.
+     * @return The band cache hit count.
+     */
+    public long getBandCacheHits();
+
+    /**
+     * Get the number of color band renders that rebuilt the cached image.
+     * @return The band cache miss count.
+     */
+    public long getBandCacheMisses();
+
+    /**
+     * Get the number of shared checkerboard requests served from the cache (all displays).
+     * @return The checkerboard cache hit count.
+     */
+    public long getCheckerBoardHits();
+
+    /**
+     * Get the number of shared checkerboard requests that built a new image (all displays).
+     * @return The checkerboard cache miss count.
+     */
+    public long getCheckerBoardMisses();
+
+    /**
+     * Reset the metrics of the display.
+     */
+    public void reset();
+
+}
@@ -28,33 +28,59 @@ import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
 import java.awt.Rectangle;
 import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.event.ActionEvent;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Arc2D;
-import java.awt.geom.Area;
 import java.awt.geom.Ellipse2D;
 import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import javax.swing.JPanel;
+import javax.swing.Timer;
 
 /**
  *  The DisplayPanel manages all the color channel sliders (ColorBands and AlphaSlider),
  *  and is the interactive area for color selection.
  * @author Tom
  */
-public class DisplayPanel extends JPanel implements MouseMotionListener, MouseListener, ColorBandListener, AlphaSliderListener {
+public class DisplayPanel extends JPanel implements MouseMotionListener, MouseListener, ColorBandListener, AlphaSliderListener, DialogColorListener {
 
     private static double CEN_RAD = 80;
     private static final int PANEL_WIDTH = 460;
     private static final int ALPHA_HEIGHT = 32;
+    //alpha slider inset from the sides
+    private static final int ALPHA_INSET = 40;
+    //checkerboard grid under the center
+    private static final int CHECKER_GRID = 10;
+    //ring radii of the layout in init - brightness, saturation, hue and the rgb arcs
+    private static final double[] RING_RADII = {100, 130, 160, 190};
+    private static final int BRIGHTNESS_RING = 0;
+    private static final int SATURATION_RING = 1;
+    private static final int HUE_RING = 2;
+    private static final int RGB_RING = 3;
+    private static final int BAND_WIDTH = 24;
+    //delay for coalesced drags - about one frame at 60hz
+    private static final int DRAG_DELAY = 16;
 
     private DisplayListener _listener;
     
+    //the color shown, with the version last shown
+    private DialogColorModel _model;
+    private long _modelVersion;
+    
     private ColorBand _redBand;
     private ColorBand _greenBand;
     private ColorBand _blueBand;
@@ -81,8 +107,13 @@ public class DisplayPanel extends JPanel implements MouseMotionListener, MouseLi
     private Arc2D _arcSE;
 
 //    private ArrayList<ColorBand> _bands;
+    //the color bands in snapshot order
+    private ColorBand[] _bands;
     
     private ArrayList<InteractiveSlider> _sliders;
+    private HitTestIndex _hitIndex;
+    private ChannelDependencies _dependencies;
+    private PolarMap _polarMap;
 
     private AffineTransform _trans;
 
@@ -92,13 +123,71 @@ public class DisplayPanel extends JPanel implements MouseMotionListener, MouseLi
     private Color _dynamicColor;
     
     
-    private BufferedImage _backgroundImage;
+    //the center circle in screen coordinates, filled with the shared checkerboard
+    private Shape _checkerShape;
+    
+    //optional metrics, null when disabled
+    private DisplayMetrics _metrics;
+    
+    //optional accelerated back buffer
+    private boolean _volatileBuffer;
+    private VolatileImage _backBuffer;
+    
+    //handles drawn from the shared sprites
+    private boolean _handleSprites;
+    
+    //bands rebuilt on the ForkJoin pool
+    private boolean _asyncRebuild;
+    
+    //optional render thread, with the last snapshot posted to it
+    private DisplayRenderer _renderer;
+    private DisplaySnapshot _postedSnapshot;
+    
+    private RenderMode _renderMode;
+    
+    //reused on every event to keep the drag path free of allocations
+    private Point2D _screenPoint;
+    private Point2D _worldPoint;
+    private ColorTuple _rgbTuple;
+    private ColorTuple _hsbTuple;
+    private ColorTuple _startTuple;
+    private ColorTuple _endTuple;
+    
+    //coalesced drag handling
+    private boolean _coalesceDrags;
+    private Timer _dragTimer;
+    private boolean _dragPending;
+    private int _dragX;
+    private int _dragY;
+    private long _mergedDrags;
+    
+    //screen bounds for repainting only what changed
+    private HashMap<InteractiveSlider, Rectangle> _screenBounds;
+    private Rectangle _pieScreenBounds;
+    private Color _renderedCurrentColor;
+    private Color _renderedDynamicColor;
 
+    /**
+     * Construct the display with a color model of its own.
+     * @param listener The listener notified when the color is changed in the display.
+     */
     public DisplayPanel(DisplayListener listener) {
+        this(listener, new DialogColorModel());
+    }
+    
+    /**
+     * Construct the display showing a shared color model.
+     * @param listener The listener notified when the color is changed in the display.
+     * @param model The color model to show and edit.
+     */
+    public DisplayPanel(DisplayListener listener, DialogColorModel model) {
         super();
 
         _listener = listener;
         
+        _model = model;
+        _modelVersion = model.getVersion();
+        
         _currentColor = Color.BLACK;
         _dynamicColor = Color.BLACK;
         
@@ -106,10 +195,45 @@ public class DisplayPanel extends JPanel implements MouseMotionListener, MouseLi
         
         _currentAlpha = 255;
         
+        _renderMode = RenderMode.Rays;
+        
+        _metrics = null;
+        
+        _volatileBuffer = false;
+        _backBuffer = null;
+        
+        _handleSprites = false;
+        _asyncRebuild = false;
+        
+        _renderer = null;
+        _postedSnapshot = null;
+        
+        _screenPoint = new Point2D.Double();
+        _worldPoint = new Point2D.Double();
+        _rgbTuple = new ColorTuple();
+        _hsbTuple = new ColorTuple();
+        _startTuple = new ColorTuple();
+        _endTuple = new ColorTuple();
+        
+        _coalesceDrags = false;
+        _dragPending = false;
+        _mergedDrags = 0;
+        _dragTimer = new Timer(DRAG_DELAY, (ActionEvent ev) -> {
+            applyPendingDrag();
+        });
+        _dragTimer.setRepeats(false);
+        
         init();
         
-        _backgroundImage = null;
+        _checkerShape = null;
         initBackground();
+        
+        _model.addListener(this);
+        
+        //a shared model may already hold a color
+        if(_modelVersion != 0) {
+            loadModel();
+        }
 
     }
 
@@ -121,9 +245,7 @@ public class DisplayPanel extends JPanel implements MouseMotionListener, MouseLi
 
         int width = PANEL_WIDTH; //460;
         int height = width + ALPHA_HEIGHT; //+ 32;
-        double cx = width / 2;
-        double cy = width / 2;
-        _center = new Point2D.Double(cx, cy + 32);
+        _center = getBandCenter();
 
         Dimension sizeD = new Dimension(width, height);
         this.setMinimumSize(sizeD);
@@ -134,7 +256,7 @@ public class DisplayPanel extends JPanel implements MouseMotionListener, MouseLi
         _trans.translate(0, height);
         _trans.scale(1.0, -1.0);
 
-        int bandWidth = 24;
+        int bandWidth = BAND_WIDTH;
 
 //        int space = 10;
 //        int s3 = space * 3;
@@ -143,13 +265,13 @@ public class DisplayPanel extends JPanel implements MouseMotionListener, MouseLi
 
         
         //original layout 100b, 130s, 160h, 190(rgb)
-        _hueBand = new ColorBand(this, TupleType.HSB, Channel.ChannelA, _center, 160, 0, Math.PI * 2, bandWidth);
+        _hueBand = new ColorBand(this, TupleType.HSB, Channel.ChannelA, _center, RING_RADII[HUE_RING], 0, Math.PI * 2, bandWidth);
         _hueBand.setColors(new ColorTuple(0, 1, 1), new ColorTuple(1, 1, 1));
         
-        _saturationBand = new ColorBand(this, TupleType.HSB, Channel.ChannelB, _center, 130, 0, Math.PI * 2, bandWidth);
+        _saturationBand = new ColorBand(this, TupleType.HSB, Channel.ChannelB, _center, RING_RADII[SATURATION_RING], 0, Math.PI * 2, bandWidth);
         _saturationBand.setColors(new ColorTuple(1, 0, 1), new ColorTuple(1, 1, 1));
              
-        _brightnessBand = new ColorBand(this, TupleType.HSB, Channel.ChannelC, _center, 100, 0, Math.PI * 2, bandWidth);
+        _brightnessBand = new ColorBand(this, TupleType.HSB, Channel.ChannelC, _center, RING_RADII[BRIGHTNESS_RING], 0, Math.PI * 2, bandWidth);
         _brightnessBand.setColors(new ColorTuple(1, 1, 0), new ColorTuple(1, 1, 1));
         
 
@@ -161,13 +283,13 @@ public class DisplayPanel extends JPanel implements MouseMotionListener, MouseLi
         double bs = Util.dToR(185);
         double be = Util.dToR(295);
 
-        _redBand = new ColorBand(this, TupleType.RGB, Channel.ChannelA ,_center, 190, rs, re, bandWidth);
+        _redBand = new ColorBand(this, TupleType.RGB, Channel.ChannelA ,_center, RING_RADII[RGB_RING], rs, re, bandWidth);
         _redBand.setColors(new ColorTuple(0, 0, 0), new ColorTuple(1, 0, 0));
 
-        _greenBand = new ColorBand(this, TupleType.RGB, Channel.ChannelB, _center, 190, gs, ge, bandWidth);
+        _greenBand = new ColorBand(this, TupleType.RGB, Channel.ChannelB, _center, RING_RADII[RGB_RING], gs, ge, bandWidth);
         _greenBand.setColors(new ColorTuple(0, 0, 0), new ColorTuple(0, 1, 0));
 
-        _blueBand = new ColorBand(this, TupleType.RGB, Channel.ChannelC, _center, 190, bs, be, bandWidth);
+        _blueBand = new ColorBand(this, TupleType.RGB, Channel.ChannelC, _center, RING_RADII[RGB_RING], bs, be, bandWidth);
         _blueBand.setColors(new ColorTuple(0, 0, 0), new ColorTuple(0, 0, 1));
 
         /**
@@ -184,9 +306,7 @@ public class DisplayPanel extends JPanel implements MouseMotionListener, MouseLi
         _arcSE = new Arc2D.Double(pcx, pcy, pwh, pwh, 270, 90, Arc2D.PIE);
 
         /*** Alpha SLider ***/
-        int a = 40;
-        int ws = width - a - a;
-        _alphaSlider = new AlphaSlider(new Rectangle(a,12,ws,24), Color.BLACK, this);
+        _alphaSlider = new AlphaSlider(getAlphaSliderBounds(), Color.BLACK, this);
         _alphaSlider.setAlpha(_currentAlpha);
         _activeSlider = null;         
         
@@ -205,10 +325,56 @@ public class DisplayPanel extends JPanel implements MouseMotionListener, MouseLi
         _sliders.add(_hueBand);   
         
         _sliders.add(_alphaSlider);
+        
+        _bands = new ColorBand[] { _redBand, _greenBand, _blueBand, _brightnessBand, _saturationBand, _hueBand };
+        
+        /**
+         * hit test index - the bands by radius, the alpha slider by its bounds
+         */
+        _hitIndex = new HitTestIndex(_center);
+        _hitIndex.addBand(_redBand);
+        _hitIndex.addBand(_greenBand);
+        _hitIndex.addBand(_blueBand);
+        _hitIndex.addBand(_brightnessBand);
+        _hitIndex.addBand(_saturationBand);
+        _hitIndex.addBand(_hueBand);
+        _hitIndex.addSlider(_alphaSlider);
+        
+        /**
+         * channel dependencies - which bands need new colors when a channel changes
+         */
+        _dependencies = new ChannelDependencies();
+        for (ColorBand band : _bands) {
+            _dependencies.addBand(band);
+        }
+        
+        /**
+         * polar map - shared by all displays, for rasterizing the bands and hit testing
+         */
+        _polarMap = getPolarMap(_center);
+        for (ColorBand band : _bands) {
+            band.setPolarMap(_polarMap);
+        }
+        _hitIndex.setPolarMap(_polarMap);
 
         //active band (selected)
         _activeBand = null;
         
+        /**
+         * Screen bounds - layout never changes
+         */
+        _screenBounds = new HashMap<>();
+        for (InteractiveSlider sld : _sliders) {
+            _screenBounds.put(sld, worldToScreen(sld.getBounds()));
+        }
+        
+        //pies and the center mask outline
+        double pmr = CEN_RAD + 2;
+        _pieScreenBounds = worldToScreen(new Rectangle2D.Double(_center.getX() - pmr, _center.getY() - pmr, pmr * 2, pmr * 2));
+        
+        _renderedCurrentColor = null;
+        _renderedDynamicColor = null;
+        
      
         
 
@@ -221,61 +387,86 @@ public class DisplayPanel extends JPanel implements MouseMotionListener, MouseLi
     }
     
     /**
-     * Create the background image.  This is a 
-     * solid background with the center color circle cut away
-     * to expose a checkerboard underneath.  This shows through
-     * when alpha is applied to the current color.
+     * Get the bounds of the alpha slider in world coordinates.
+     * @return The bounds of the alpha slider.
      */
-    private void initBackground() {
-        
-        Dimension psize = this.getPreferredSize();
-        Color bgColor = this.getBackground();
+    private static Rectangle getAlphaSliderBounds() {
+        int ws = PANEL_WIDTH - ALPHA_INSET - ALPHA_INSET;
+        return new Rectangle(ALPHA_INSET, 12, ws, 24);
+    }
+    
+    /**
+     * Get the center of the color bands in world coordinates, above the alpha slider.
+     * The polar map is built for this center, so init and prewarm both use it.
+     * @return A new point at the center of the color bands.
+     */
+    private static Point2D getBandCenter() {
+        double c = PANEL_WIDTH / 2;
+        return new Point2D.Double(c, c + ALPHA_HEIGHT);
+    }
+    
+    /**
+     * Get the shared polar map of the display surface and the rings of the color bands.
+     * @param center The center of the color bands in world coordinates.
+     * @return The shared polar map.
+     */
+    private static PolarMap getPolarMap(Point2D center) {
         
- 
-        //get the cherboard
-        BufferedImage bi = CheckerBoard.makeImage(psize.width, psize.height, 10);
+        int n = RING_RADII.length;
+        double[] inner = new double[n];
+        double[] outer = new double[n];
         
-        double cx = _center.getX();
-        double cy = _center.getY();
+        for (int i = 0; i < n; i++) {
+            inner[i] = RING_RADII[i] - BAND_WIDTH / 2.0;
+            outer[i] = RING_RADII[i] + BAND_WIDTH / 2.0;
+        }
         
-        //construct center ellipse
-        Ellipse2D ellipse = new Ellipse2D.Double();
-        ellipse.setFrameFromCenter(cx, cy, cx - CEN_RAD, cy - CEN_RAD);     
+        return PolarMap.get(PANEL_WIDTH, PANEL_WIDTH + ALPHA_HEIGHT, center, inner, outer);
         
-        //construct the bounds
-        Rectangle bounds = new Rectangle(0, 0, psize.width, psize.height);
+    }
+    
+    /**
+     * Build the resources shared by all displays, and run a band through the renderer
+     * so the classes and rendering loops are loaded before the first display is shown.
+     * This does not touch any component, so it can run off the event dispatch thread.
+     */
+    static void prewarm() {
         
-        //ellipse area
-        Area ellArea = new Area(ellipse);
-        //bounds area
-        Area bndsArea = new Area(bounds);
+        getPolarMap(getBandCenter());
         
-        //remove ellipse
-        bndsArea.subtract(ellArea);
+        CheckerBoard.getPaint(CHECKER_GRID);
+        AlphaSlider.prewarm(getAlphaSliderBounds());
         
-        //get the graphics object
-        //Graphics g = bi.getGraphics();
-        Graphics2D g2 = (Graphics2D)bi.getGraphics();
+        double c = PANEL_WIDTH / 2;
+        ColorBand band = new ColorBand(null, TupleType.HSB, Channel.ChannelA, new Point2D.Double(c, c), RING_RADII[HUE_RING], 0, Math.PI * 2, BAND_WIDTH);
+        band.setColors(new ColorTuple(0, 1, 1), new ColorTuple(1, 1, 1));
         
-        //apply rendering hints
-        g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        BufferedImage bi = new BufferedImage(PANEL_WIDTH, PANEL_WIDTH, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = bi.createGraphics();
         g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        g2.setRenderingHint(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_QUALITY);        
-        
-        //set color
-        g2.setColor(bgColor);
+        band.render(g2);
+        band.renderHandle(g2);
+        g2.dispose();
         
-        //apply current transform
-        g2.transform(_trans);
+    }
+    
+    /**
+     * Create the background.  The background is solid with the center 
+     * color circle cut away to expose a checkerboard underneath.  This shows through
+     * when alpha is applied to the current color.  The checkerboard is a shared
+     * paint, so only the center circle is kept here.
+     */
+    private void initBackground() {
         
-        //paint over with the bounds area.
-        g2.fill(bndsArea);
+        double cx = _center.getX();
+        double cy = _center.getY();
         
-
-        //dispose graphics
-        g2.dispose();
+        //construct center ellipse
+        Ellipse2D ellipse = new Ellipse2D.Double();
+        ellipse.setFrameFromCenter(cx, cy, cx - CEN_RAD, cy - CEN_RAD);     
         
-        _backgroundImage = bi;
+        //keep it in screen coordinates so the checkerboard lines up with the panel
+        _checkerShape = _trans.createTransformedShape(ellipse);
         
     }
     
@@ -287,75 +478,596 @@ public class DisplayPanel extends JPanel implements MouseMotionListener, MouseLi
 
         //if(true) return;
         Graphics2D g2 = (Graphics2D) g;
+        
+        DisplayMetrics metrics = _metrics;
+        long bytes = 0;
+        long start = 0;
+        if(metrics != null) {
+            bytes = DisplayMetrics.allocatedBytes();
+            start = System.nanoTime();
+        }
+        
+        //not displayable (or headless) - paint directly
+        GraphicsConfiguration gc = _volatileBuffer ? this.getGraphicsConfiguration() : null;
+        
+        if(_renderer != null) {
+            paintRendered(g2);
+        } else if(gc != null) {
+            paintBuffered(g2, gc);
+        } else {
+            renderDisplay(g2);
+        }
+        
+        if(metrics != null) {
+            long nanos = System.nanoTime() - start;
+            metrics.recordPaint(nanos, bytes < 0 ? -1 : DisplayMetrics.allocatedBytes() - bytes);
+        }
+        
+    }
+    
+    /**
+     * Paint through the volatile back buffer.  The buffer is rendered and validated until 
+     * its contents survive, then copied to the screen.  Only the clipped area is rendered
+     * unless the buffer was just created or its contents were lost.
+     * @param g2 The graphics object to paint to.
+     * @param gc The graphics configuration of the panel.
+     */
+    private void paintBuffered(Graphics2D g2, GraphicsConfiguration gc) {
+        
+        int w = this.getWidth();
+        int h = this.getHeight();
+        
+        Rectangle clip = g2.getClipBounds();
+        
+        boolean full = false;
+        
+        if(_backBuffer == null || _backBuffer.getWidth() != w || _backBuffer.getHeight() != h) {
+            releaseBackBuffer();
+            _backBuffer = gc.createCompatibleVolatileImage(w, h);
+            full = true;
+        }
+        
+        do {
+            
+            int status = _backBuffer.validate(gc);
+            
+            if(status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                //moved to a different device
+                releaseBackBuffer();
+                _backBuffer = gc.createCompatibleVolatileImage(w, h);
+                full = true;
+            } else if(status == VolatileImage.IMAGE_RESTORED) {
+                full = true;
+            }
+            
+            Graphics2D bg = _backBuffer.createGraphics();
+            
+            if(!full && clip != null) {
+                bg.clip(clip);
+            }
+            
+            renderDisplay(bg);
+            bg.dispose();
+            
+        } while(_backBuffer.contentsLost());
+        
+        g2.drawImage(_backBuffer, 0, 0, null);
+        
+    }
+    
+    /**
+     * Paint the latest frame from the render thread, posting the current state first if 
+     * it changed.  Until the first frame is finished the display is painted directly.
+     * @param g2 The graphics object to paint to.
+     */
+    private void paintRendered(Graphics2D g2) {
+        
+        postSnapshot();
+        
+        if(!_renderer.drawFrame(g2)) {
+            renderDisplay(g2);
+        }
+        
+    }
+    
+    /**
+     * Post a snapshot of the current state to the render thread, unless it matches the last one.
+     */
+    private void postSnapshot() {
+        
+        DisplaySnapshot snapshot = new DisplaySnapshot(_bands, _alphaSlider, _currentColor, _dynamicColor, 
+                this.getBackground(), _renderMode, _handleSprites, this.getWidth(), this.getHeight());
+        
+        if(!snapshot.isSame(_postedSnapshot)) {
+            _postedSnapshot = snapshot;
+            _renderer.post(snapshot);
+        }
+        
+    }
+    
+    /**
+     * Render a full frame of a snapshot.  This is called on the render thread, on the 
+     * private display owned by the renderer, and never on a displayed panel.
+     * @param g2 The graphics object to render to.
+     * @param snapshot The snapshot to render.
+     */
+    void renderFrame(Graphics2D g2, DisplaySnapshot snapshot) {
+        
+        for (int i = 0; i < _bands.length; i++) {
+            _bands[i].setRenderMode(snapshot.getRenderMode());
+            _bands[i].setColors(snapshot.getRange(i));
+            _bands[i].update(snapshot.getValue(i));
+        }
+        
+        _renderMode = snapshot.getRenderMode();
+        
+        applyHandleSprites(snapshot.isHandleSprites());
+        
+        _alphaSlider.setAlpha(snapshot.getAlpha());
+        _alphaSlider.setColor(snapshot.getAlphaColor());
+        
+        _currentColor = snapshot.getCurrentColor();
+        _dynamicColor = snapshot.getDynamicColor();
+        
+        renderDisplay(g2, snapshot.getBackground(), snapshot.getWidth(), snapshot.getHeight());
+        
+    }
+    
+    /**
+     * Release the volatile back buffer.
+     */
+    private void releaseBackBuffer() {
+        
+        if(_backBuffer != null) {
+            _backBuffer.flush();
+            _backBuffer = null;
+        }
+        
+    }
+    
+    /**
+     * Render the display.
+     * Only the parts that intersect the clip of the graphics are rendered.
+     * @param g2 The graphics object to render to.
+     */
+    private void renderDisplay(Graphics2D g2) {
+        renderDisplay(g2, this.getBackground(), this.getWidth(), this.getHeight());
+    }
+    
+    /**
+     * Render the display with the provided background and size.
+     * @param g2 The graphics object to render to.
+     * @param bgc The background color.
+     * @param width The width of the display.
+     * @param height The height of the display.
+     */
+    private void renderDisplay(Graphics2D g2, Color bgc, int width, int height) {
+        
+        //only render what intersects the area being repainted
+        Rectangle clip = g2.getClipBounds();
+        
+        boolean brightness = isExposed(clip, _brightnessBand);
+        boolean saturation = isExposed(clip, _saturationBand);
+        boolean hue = isExposed(clip, _hueBand);
+        boolean red = isExposed(clip, _redBand);
+        boolean green = isExposed(clip, _greenBand);
+        boolean blue = isExposed(clip, _blueBand);
+        boolean pies = clip == null || clip.intersects(_pieScreenBounds);
 
         g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
         g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
         g2.setRenderingHint(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_QUALITY);
 
-        Rectangle bounds = this.getBounds();
-
-        Color bgc = this.getBackground();
+        Object phase = FlightEvents.beginPaintPhase();
         
-
-
-        g2.drawImage(_backgroundImage, bounds.x, bounds.y, this);
+        //solid background with the checkerboard showing through the center
+        g2.setPaint(bgc);
+        g2.fillRect(0, 0, width, height);
         
-//        g2.setPaint(bgc);
-//        g2.fill(bounds);
+        if(pies) {
+            g2.setPaint(CheckerBoard.getPaint(CHECKER_GRID));
+            g2.fill(_checkerShape);
+        }
+        
+        FlightEvents.endPaintPhase(phase, FlightEvents.BACKGROUND);
          
          /*** transform to world coordinates ***/
         g2.transform(_trans);
 
 
         /*** Render the color bands ***/
+        
+        phase = FlightEvents.beginPaintPhase();
 
-        _brightnessBand.render(g2);
-        _saturationBand.render(g2);
-        _hueBand.render(g2);
+        if(brightness) renderBand(g2, _brightnessBand);
+        if(saturation) renderBand(g2, _saturationBand);
+        if(hue) renderBand(g2, _hueBand);
 
-        _redBand.render(g2);
-        _greenBand.render(g2);
-        _blueBand.render(g2);
+        if(red) renderBand(g2, _redBand);
+        if(green) renderBand(g2, _greenBand);
+        if(blue) renderBand(g2, _blueBand);
+        
+        FlightEvents.endPaintPhase(phase, FlightEvents.BANDS);
 
         
-        _alphaSlider.render(g2);
+        phase = FlightEvents.beginPaintPhase();
+        if(isExposed(clip, _alphaSlider)) _alphaSlider.render(g2);
+        FlightEvents.endPaintPhase(phase, FlightEvents.ALPHA);
         
         /***  Render the center datum ***/
-        g2.setPaint(_dynamicColor);
+        phase = FlightEvents.beginPaintPhase();
+        if(pies) {
+            
+            g2.setPaint(_dynamicColor);
 
-        g2.fill(_arcNE);
-        g2.fill(_arcSW);
+            g2.fill(_arcNE);
+            g2.fill(_arcSW);
 
-        g2.setPaint(_currentColor);
+            g2.setPaint(_currentColor);
 
-        g2.fill(_arcNW);
-        g2.fill(_arcSE);        
+            g2.fill(_arcNW);
+            g2.fill(_arcSE);        
+            
+            _renderedCurrentColor = _currentColor;
+            _renderedDynamicColor = _dynamicColor;
+        }
+        FlightEvents.endPaintPhase(phase, FlightEvents.PIES);
         
         
         /*** Render anti-alias masking ***/
+        phase = FlightEvents.beginPaintPhase();
          g2.setStroke(new BasicStroke(2.0f));
          g2.setColor( bgc );
        
 
-        renderMaskOutline(g2, -1, CEN_RAD -1);
-        renderMaskOutline(g2, _brightnessBand.getInnerRadius(), _brightnessBand.getOuterRadius());
-        renderMaskOutline(g2, _saturationBand.getInnerRadius(), _saturationBand.getOuterRadius());
-        renderMaskOutline(g2, _hueBand.getInnerRadius(), _hueBand.getOuterRadius());
-         //render only one of the color bands since it renders a full circle and not an arc
-        renderMaskOutline(g2, _redBand.getInnerRadius(), _redBand.getOuterRadius());
+        if(pies) renderMaskOutline(g2, -1, CEN_RAD -1);
+        
+        //only the rays leave ragged edges
+        if(_renderMode == RenderMode.Rays) {
+            if(brightness) renderMaskOutline(g2, _brightnessBand.getInnerRadius(), _brightnessBand.getOuterRadius());
+            if(saturation) renderMaskOutline(g2, _saturationBand.getInnerRadius(), _saturationBand.getOuterRadius());
+            if(hue) renderMaskOutline(g2, _hueBand.getInnerRadius(), _hueBand.getOuterRadius());
+             //render only one of the color bands since it renders a full circle and not an arc
+            if(red || green || blue) renderMaskOutline(g2, _redBand.getInnerRadius(), _redBand.getOuterRadius());
+        }
+        FlightEvents.endPaintPhase(phase, FlightEvents.MASKS);
         
          
          /***  Render the color band handles ***/
         
-        _brightnessBand.renderHandle(g2);
-        _saturationBand.renderHandle(g2);
-        _hueBand.renderHandle(g2);
+        phase = FlightEvents.beginPaintPhase();
+        
+        if(brightness) _brightnessBand.renderHandle(g2);
+        if(saturation) _saturationBand.renderHandle(g2);
+        if(hue) _hueBand.renderHandle(g2);
 
-        _redBand.renderHandle(g2);
-        _greenBand.renderHandle(g2);
-        _blueBand.renderHandle(g2);         
+        if(red) _redBand.renderHandle(g2);
+        if(green) _greenBand.renderHandle(g2);
+        if(blue) _blueBand.renderHandle(g2);         
+        
+        FlightEvents.endPaintPhase(phase, FlightEvents.HANDLES);
+
+
+    }
+
+    /**
+     * Render a color band, counting cache hits when metrics are enabled.
+     * @param g2 The graphics object to render to (world coordinates).
+     * @param band The color band to render.
+     */
+    private void renderBand(Graphics2D g2, ColorBand band) {
+        
+        if(_metrics != null) {
+            _metrics.recordBandCache(!band.isDirty());
+        }
+        
+        band.render(g2);
+        
+    }
+    
+    /**
+     * Check if a slider intersects the area being repainted.
+     * @param clip The clip bounds of the graphics (null if not clipped).
+     * @param slider The slider to check.
+     * @return True if the slider needs to be rendered, false otherwise.
+     */
+    private boolean isExposed(Rectangle clip, InteractiveSlider slider) {
+        return clip == null || clip.intersects(_screenBounds.get(slider));
+    }
+    
+    /**
+     * Repaint only the parts of the display that changed since they were last rendered.
+     * This covers the sliders (colors and handles) and the center pies.
+     */
+    private void repaintChanged() {
+        
+        //the render thread repaints when the frame is finished
+        if (_renderer != null) {
+            postSnapshot();
+            return;
+        }
+        
+        for (InteractiveSlider sld : _sliders) {
+            if (sld.needsRepaint()) {
+                this.repaint(_screenBounds.get(sld));
+            }
+        }
+        
+        if (_currentColor != _renderedCurrentColor || _dynamicColor != _renderedDynamicColor) {
+            this.repaint(_pieScreenBounds);
+        }
+        
+    }
+    
+    /**
+     * Transform bounds in world coordinates to the screen.
+     * @param bounds The bounds in world coordinates.
+     * @return The enclosing bounds in screen coordinates.
+     */
+    private Rectangle worldToScreen(Rectangle2D bounds) {
+        return _trans.createTransformedShape(bounds).getBounds();
+    }
 
+    /**
+     * Get the mode used to paint the color bands.
+     * @return The render mode of the color bands.
+     */
+    public RenderMode getRenderMode() {
+        return _renderMode;
+    }
+    
+    /**
+     * Set the mode used to paint the color bands.
+     * The outline masks are only rendered in the Rays mode.
+     * @param mode The render mode for the color bands.
+     */
+    public void setRenderMode(RenderMode mode) {
+        
+        _renderMode = mode;
+        
+        _redBand.setRenderMode(mode);
+        _greenBand.setRenderMode(mode);
+        _blueBand.setRenderMode(mode);
+        
+        _hueBand.setRenderMode(mode);
+        _saturationBand.setRenderMode(mode);
+        _brightnessBand.setRenderMode(mode);
+        
+        this.repaint();
+        
+    }
 
+    /**
+     * Give every color band its exact colors from the current values.  While dragging,
+     * bands keep their colors until an input changes at 8-bit precision, so they can be 
+     * off by a fraction of a level when the drag ends.
+     */
+    private void settleColors() {
+        
+        _dependencies.invalidate();
+        
+        _rgbTuple.set((float)_redBand.getValue(), (float)_greenBand.getValue(), (float)_blueBand.getValue());
+        updateRGBColors(_rgbTuple);
+        
+        _hsbTuple.set((float)_hueBand.getValue(), (float)_saturationBand.getValue(), (float)_brightnessBand.getValue());
+        updateHSBColors(_hsbTuple);
+        
+    }
+    
+    /**
+     * Get the number of times a color band kept its colors, because none of the channels 
+     * it depends on changed at 8-bit precision while dragging.
+     * @return The number of skipped color band rebuilds.
+     */
+    public long getSkippedRebuildCount() {
+        return _dependencies.getSkippedCount();
+    }
+    
+    /**
+     * Check if the handles are drawn from the shared sprites.
+     * @return True if the handles are drawn as sprites, false if their paths are rendered.
+     */
+    public boolean isHandleSprites() {
+        return _handleSprites;
+    }
+    
+    /**
+     * Set if the handles are drawn from the shared sprites.  Each handle is then a single 
+     * image draw instead of an antialiased fill and outline, with the rotation quantized 
+     * to half a degree and the position to a whole pixel.  Turn this off for exact handles.
+     * @param handleSprites True to draw the handles as sprites, false to render their paths.
+     */
+    public void setHandleSprites(boolean handleSprites) {
+        
+        applyHandleSprites(handleSprites);
+        
+        this.repaint();
+        
+    }
+    
+    /**
+     * Set if the handles of the sliders are drawn from the shared sprites, without repainting.
+     * @param handleSprites True to draw the handles as sprites, false to render their paths.
+     */
+    private void applyHandleSprites(boolean handleSprites) {
+        
+        _handleSprites = handleSprites;
+        
+        for (ColorBand band : _bands) {
+            band.setHandleSprites(handleSprites);
+        }
+        
+        _alphaSlider.setHandleSprites(handleSprites);
+        
+    }
+    
+    /**
+     * Check if the color bands are rebuilt off the event dispatch thread.
+     * @return True if the bands are rebuilt asynchronously, false otherwise.
+     */
+    public boolean isAsyncRebuild() {
+        return _asyncRebuild;
+    }
+    
+    /**
+     * Set if the color bands are rebuilt off the event dispatch thread.  Each band that changes 
+     * is rebuilt on the common ForkJoin pool, while the last completed image is painted until
+     * the new one is ready and the band is repainted.
+     * @param asyncRebuild True to rebuild the bands asynchronously, false to rebuild on paint.
+     */
+    public void setAsyncRebuild(boolean asyncRebuild) {
+        
+        _asyncRebuild = asyncRebuild;
+        
+        setAsyncRebuild(_redBand, asyncRebuild);
+        setAsyncRebuild(_greenBand, asyncRebuild);
+        setAsyncRebuild(_blueBand, asyncRebuild);
+        
+        setAsyncRebuild(_hueBand, asyncRebuild);
+        setAsyncRebuild(_saturationBand, asyncRebuild);
+        setAsyncRebuild(_brightnessBand, asyncRebuild);
+        
+        this.repaint();
+        
+    }
+    
+    /**
+     * Set if a single band is rebuilt asynchronously, repainting only that band when it is rebuilt.
+     * @param band The band to set.
+     * @param asyncRebuild True to rebuild the band asynchronously, false to rebuild on paint.
+     */
+    private void setAsyncRebuild(ColorBand band, boolean asyncRebuild) {
+        band.setAsyncRebuild(asyncRebuild ? () -> this.repaint(_screenBounds.get(band)) : null);
+    }
+    
+    /**
+     * Check if the display is rendered on a dedicated render thread.
+     * @return True if a render thread is used, false otherwise.
+     */
+    public boolean isRenderThread() {
+        return _renderer != null;
+    }
+    
+    /**
+     * Set if the display is rendered on a dedicated render thread.  The state of the display is 
+     * posted to the thread as immutable snapshots, and the thread renders each into one of two 
+     * back buffers, so painting only copies the latest finished frame.  This keeps rendering off
+     * the event dispatch thread.  The thread is stopped when this is turned off, and when the 
+     * dialog is disposed.
+     * @param renderThread True to render on a dedicated thread, false to render on paint.
+     */
+    public void setRenderThread(boolean renderThread) {
+        
+        if(renderThread == (_renderer != null)) {
+            return;
+        }
+        
+        if(renderThread) {
+            
+            //a private display that only the render thread draws with
+            DisplayPanel scene = new DisplayPanel((ColorTuple rgb, ColorTuple hsb, int alpha) -> {});
+            
+            _renderer = new DisplayRenderer(scene, this::repaint);
+            _renderer.start();
+            
+        } else {
+            
+            _renderer.shutdown();
+            _renderer = null;
+            
+        }
+        
+        _postedSnapshot = null;
+        
+        this.repaint();
+        
+    }
+    
+    /**
+     * Get the metrics of the display.
+     * @return The metrics, null if they are not enabled.
+     */
+    public DisplayMetrics getMetrics() {
+        return _metrics;
+    }
+    
+    /**
+     * Set if the display records metrics.  Enabling keeps any metrics already recorded.
+     * @param enabled True to record metrics, false to stop recording and drop them.
+     */
+    public void setMetricsEnabled(boolean enabled) {
+        
+        if(!enabled) {
+            _metrics = null;
+        } else if(_metrics == null) {
+            _metrics = new DisplayMetrics();
+        }
+        
+    }
+    
+    /**
+     * Check if the display is painted through a volatile back buffer.
+     * @return True if a volatile back buffer is used, false otherwise.
+     */
+    public boolean isVolatileBuffer() {
+        return _volatileBuffer;
+    }
+    
+    /**
+     * Set if the display is painted through a volatile back buffer.  The buffer lives in 
+     * video memory where available, and falls back to painting directly when the panel 
+     * is not displayable.
+     * @param volatileBuffer True to use a volatile back buffer, false to paint directly.
+     */
+    public void setVolatileBuffer(boolean volatileBuffer) {
+        
+        _volatileBuffer = volatileBuffer;
+        
+        if(!volatileBuffer) {
+            releaseBackBuffer();
+        }
+        
+        this.repaint();
+        
+    }
+    
+    /**
+     * Report if each cached layer of the display is currently accelerated.
+     * Managed images are only accelerated after they have been drawn a few times,
+     * and nothing is accelerated when headless.
+     * @return The acceleration of each layer by name, in paint order.
+     */
+    public Map<String, Boolean> getAccelerationReport() {
+        
+        GraphicsConfiguration gc = this.getGraphicsConfiguration();
+        if(gc == null) {
+            gc = Util.getDefaultConfiguration();
+        }
+        
+        Map<String, Boolean> report = new LinkedHashMap<>();
+        
+        report.put("checkerboard", isAccelerated(CheckerBoard.getPaint(CHECKER_GRID).getImage(), gc));
+        report.put("brightness", isAccelerated(_brightnessBand.getCacheImage(), gc));
+        report.put("saturation", isAccelerated(_saturationBand.getCacheImage(), gc));
+        report.put("hue", isAccelerated(_hueBand.getCacheImage(), gc));
+        report.put("red", isAccelerated(_redBand.getCacheImage(), gc));
+        report.put("green", isAccelerated(_greenBand.getCacheImage(), gc));
+        report.put("blue", isAccelerated(_blueBand.getCacheImage(), gc));
+        report.put("alpha", isAccelerated(_alphaSlider.getBackgroundImage(), gc));
+        report.put("backBuffer", isAccelerated(_backBuffer, gc));
+        
+        return report;
+        
+    }
+    
+    /**
+     * Check if an image is accelerated on a graphics configuration.
+     * @param image The image to check (may be null).
+     * @param gc The graphics configuration (may be null).
+     * @return True if the image is accelerated, false otherwise.
+     */
+    private static boolean isAccelerated(Image image, GraphicsConfiguration gc) {
+        return image != null && gc != null && image.getCapabilities(gc).isAccelerated();
     }
 
     /**
@@ -421,21 +1133,23 @@ public class DisplayPanel extends JPanel implements MouseMotionListener, MouseLi
     /**
      * Transform a point from screen to world.  This runs
      * the mouse coordinates through the display's affine transform.
+     * The returned point is reused on the next call.
      * @param mouseX  The mouse x coordinate.
      * @param mouseY  The mouse y coordinate.
      * @return The transformed point in world coordinates.
      */
     private Point2D screenToWorld(int mouseX, int mouseY) {
         
-        Point2D mPoint = new Point2D.Double(mouseX, mouseY);
-        Point2D transPoint = _trans.transform(mPoint, null);        
+        _screenPoint.setLocation(mouseX, mouseY);
+        _trans.transform(_screenPoint, _worldPoint);        
         
-        return transPoint;
+        return _worldPoint;
         
     }
 
     /**
      * Check the active color band and update it accordingly.
+     * When drags are coalesced, only the latest position is kept and applied once per frame.
      * @param e The mouse event.
      */
     @Override
@@ -443,14 +1157,87 @@ public class DisplayPanel extends JPanel implements MouseMotionListener, MouseLi
         
         if(_activeSlider != null) {
             
+            if(_metrics != null) {
+                _metrics.recordDrag();
+            }
+            
+            if(_coalesceDrags) {
+                
+                //replace the pending position
+                if(_dragPending) {
+                    _mergedDrags++;
+                }
+                
+                _dragX = e.getX();
+                _dragY = e.getY();
+                _dragPending = true;
+                
+                if(!_dragTimer.isRunning()) {
+                    _dragTimer.start();
+                }
+                
+                return;
+            }
+            
             Point2D worldPoint = screenToWorld(e.getX(), e.getY());
             _activeSlider.updateFromPoint(worldPoint);
             
-            this.repaint();
+            repaintChanged();
         }
         
         
     }
+    
+    /**
+     * Apply the pending drag position to the active slider.
+     * This is called from the drag timer, and when the mouse is released.
+     */
+    private void applyPendingDrag() {
+        
+        if(_dragPending && _activeSlider != null) {
+            
+            Point2D worldPoint = screenToWorld(_dragX, _dragY);
+            _activeSlider.updateFromPoint(worldPoint);
+            
+            repaintChanged();
+        }
+        
+        _dragPending = false;
+        
+    }
+    
+    /**
+     * Check if mouse drags are coalesced.
+     * @return True if drags are coalesced to one update per frame, false otherwise.
+     */
+    public boolean isDragCoalescing() {
+        return _coalesceDrags;
+    }
+    
+    /**
+     * Set if mouse drags are coalesced.  When coalesced, only the latest drag position
+     * is applied once per frame instead of updating on every drag event.
+     * @param coalesce True to coalesce drags, false to update on every drag event.
+     */
+    public void setDragCoalescing(boolean coalesce) {
+        
+        //apply anything pending before switching
+        if(!coalesce) {
+            _dragTimer.stop();
+            applyPendingDrag();
+        }
+        
+        _coalesceDrags = coalesce;
+        
+    }
+    
+    /**
+     * Get the number of drag events that were merged into a later drag event.
+     * @return The number of merged drag events.
+     */
+    public long getMergedDragCount() {
+        return _mergedDrags;
+    }
 
     
   
@@ -485,22 +1272,19 @@ public class DisplayPanel extends JPanel implements MouseMotionListener, MouseLi
         
         Point2D worldPoint = screenToWorld(e.getX(), e.getY());
 
-        //do hit test
-        for (InteractiveSlider sld : _sliders) {
-
-            if (sld.containsPoint(worldPoint)) {
-                //make the band active
-                _activeSlider = sld;
-                //update from point
-                sld.updateFromPoint(worldPoint);
-                
-                
-                this.repaint();
-                
-            } else {
-                //System.out.println("no band...");
-            }
+        //do hit test - at most one slider is hit
+        InteractiveSlider sld = _hitIndex.find(worldPoint);
 
+        if (sld != null) {
+            //make the band active
+            _activeSlider = sld;
+            _model.setAdjusting(true, this);
+            //update from point
+            sld.updateFromPoint(worldPoint);
+            
+            
+            repaintChanged();
+            
         }
 
     }
@@ -516,7 +1300,14 @@ public class DisplayPanel extends JPanel implements MouseMotionListener, MouseLi
     @Override
     public void mouseReleased(MouseEvent e) {
         
-
+        //flush any coalesced drag before releasing
+        _dragTimer.stop();
+        applyPendingDrag();
+        
+        //bands skipped during the drag get their exact colors
+        if(_activeSlider != null) {
+            settleColors();
+        }
         
         if(_activeBand != null) {
             
@@ -525,14 +1316,17 @@ public class DisplayPanel extends JPanel implements MouseMotionListener, MouseLi
             
             //set the current display color to the dynamic color
              _currentColor = _dynamicColor;
-             this.repaint();
+             repaintChanged();
         }
         
         if(_activeSlider != null) {
             
             _activeSlider = null;
             _currentColor = _dynamicColor;
-            this.repaint();
+            repaintChanged();
+            
+            //views showing the drag at a lower rate catch up once
+            _model.setAdjusting(false, this);
             
         }
         
@@ -566,9 +1360,15 @@ public class DisplayPanel extends JPanel implements MouseMotionListener, MouseLi
     @Override
     public void colorBandChanged(ColorBandEvent e) {
         
+        Object update = FlightEvents.beginColorUpdate();
+        
         //do something...bubble up...
         TupleType type = e.getTupleType();
         
+        //the version before the change, to time the notification of the other views
+        long version = _model.getVersion();
+        long start;
+        
         switch(type) {
             
             case RGB :
@@ -578,15 +1378,17 @@ public class DisplayPanel extends JPanel implements MouseMotionListener, MouseLi
                 float b = (float)_blueBand.getValue();
                 
  
-                ColorTuple rgbct = new ColorTuple(r,g,b);
-                _dynamicColor = rgbct.getColor(type);
-                //apply the alpha
-                _dynamicColor = applyCurrentAlpha(_dynamicColor);
+                _rgbTuple.set(r,g,b);
+                //the model converts to HSB and notifies the other views
+                start = startListenerTiming();
+                _model.setRGB(_rgbTuple, _currentAlpha, this);
+                recordListenerTiming(start, version);
+                _dynamicColor = _model.getColor();
                 
                 //update the colors
-                updateRGBColors(rgbct);
+                updateRGBColors(_model.getRGB());
                 
-                updateHSBValues(_dynamicColor);
+                updateHSBValues(_model.getHSB());
                 
                 break;
                 
@@ -597,15 +1399,17 @@ public class DisplayPanel extends JPanel implements MouseMotionListener, MouseLi
                 float cb = (float)_brightnessBand.getValue();
                 
  
-                ColorTuple hsbct = new ColorTuple(ah,bs,cb);
-                _dynamicColor = hsbct.getColor(type); 
-                //apply the alpha
-                _dynamicColor = applyCurrentAlpha(_dynamicColor);
+                _hsbTuple.set(ah,bs,cb);
+                //the model converts to RGB and notifies the other views
+                start = startListenerTiming();
+                _model.setHSB(_hsbTuple, _currentAlpha, this);
+                recordListenerTiming(start, version);
+                _dynamicColor = _model.getColor();
                 
                 //update the colors
-                updateHSBColors(hsbct);
+                updateHSBColors(_model.getHSB());
                 
-                updateRGBValues(_dynamicColor);
+                updateRGBValues(_model.getRGB());
                 
                 break;
                 
@@ -625,30 +1429,22 @@ public class DisplayPanel extends JPanel implements MouseMotionListener, MouseLi
         //update the controls
         onChange();
         
+        FlightEvents.endColorUpdate(update, FlightEvents.SLIDERS);
         
     }
     
     /**
-     * Update the Red, Green, and BLue values from a color.
+     * Update the Red, Green, and BLue values from a tuple.
      * This updates the bands  values with a color generated externally.
-     * @param color The color to update from
+     * @param tuple The ColorTuple to update from.
      */
-    private void updateRGBValues(Color color) {
-        
-        float r = color.getRed();
-        float g = color.getGreen();
-        float b = color.getBlue();
+    private void updateRGBValues(ColorTuple tuple) {
         
-        float rt = r / 255.0f;
-        float gt = g / 255.0f;
-        float bt = b / 255.0f;
+        _redBand.update(tuple.getA());
+        _greenBand.update(tuple.getB());
+        _blueBand.update(tuple.getC());
         
-        _redBand.update(rt);
-        _greenBand.update(gt);
-        _blueBand.update(bt);
-        
-        ColorTuple rgbCT = new ColorTuple(rt, gt, bt);
-        updateRGBColors(rgbCT);
+        updateRGBColors(tuple);
         
     }
     
@@ -664,38 +1460,40 @@ public class DisplayPanel extends JPanel implements MouseMotionListener, MouseLi
         float b =tuple.getC();
         
         
-        _redBand.setColors(new ColorTuple(0.0f, g, b), new ColorTuple(1.0f, g, b));
+        //the bands copy the tuples, so they are reused
+        //only bands with a changed input get new colors
+        if(_dependencies.update(_redBand, tuple)) {
+            _startTuple.set(0.0f, g, b);
+            _endTuple.set(1.0f, g, b);
+            _redBand.setColors(_startTuple, _endTuple);
+        }
         
-        _greenBand.setColors(new ColorTuple(r, 0.0f, b), new ColorTuple(r, 1.0f, b));
+        if(_dependencies.update(_greenBand, tuple)) {
+            _startTuple.set(r, 0.0f, b);
+            _endTuple.set(r, 1.0f, b);
+            _greenBand.setColors(_startTuple, _endTuple);
+        }
         
-        _blueBand.setColors(new ColorTuple(r, g, 0.0f), new ColorTuple(r, g, 1.0f));
+        if(_dependencies.update(_blueBand, tuple)) {
+            _startTuple.set(r, g, 0.0f);
+            _endTuple.set(r, g, 1.0f);
+            _blueBand.setColors(_startTuple, _endTuple);
+        }
         
     }
     
     /**
      * Update the Hue, Saturation, and Brightness bands values.  This updates
      * the bands values with a color generated externally.
-     * @param color The color to update the values
+     * @param tuple The ColorTuple to update from.
      */
-    private void updateHSBValues(Color color) {
-        
-        int r = color.getRed();
-        int g = color.getGreen();
-        int b = color.getBlue();
-        
-        float[] vals;
-        vals = Color.RGBtoHSB(r, g, b, null);
-        
-        float ht = vals[0];
-        float st = vals[1];
-        float bt = vals[2];
+    private void updateHSBValues(ColorTuple tuple) {
         
-        _hueBand.update(ht);
-        _saturationBand.update(st);
-        _brightnessBand.update(bt);
+        _hueBand.update(tuple.getA());
+        _saturationBand.update(tuple.getB());
+        _brightnessBand.update(tuple.getC());
         
-        ColorTuple rgbCT = new ColorTuple(ht, st, bt);
-        updateHSBColors(rgbCT);
+        updateHSBColors(tuple);
         
     }    
     
@@ -711,17 +1509,77 @@ public class DisplayPanel extends JPanel implements MouseMotionListener, MouseLi
         float b = tuple.getC();
         
         
-        _hueBand.setColors(new ColorTuple(0.0f, s, b), new ColorTuple(1.0f, s, b));
+        //the bands copy the tuples, so they are reused
+        //only bands with a changed input get new colors
+        if(_dependencies.update(_hueBand, tuple)) {
+            _startTuple.set(0.0f, s, b);
+            _endTuple.set(1.0f, s, b);
+            _hueBand.setColors(_startTuple, _endTuple);
+        }
         
-        _saturationBand.setColors(new ColorTuple(h, 0.0f, b), new ColorTuple(h, 1.0f, b));
+        if(_dependencies.update(_saturationBand, tuple)) {
+            _startTuple.set(h, 0.0f, b);
+            _endTuple.set(h, 1.0f, b);
+            _saturationBand.setColors(_startTuple, _endTuple);
+        }
         
-        _brightnessBand.setColors(new ColorTuple(h, s, 0.0f), new ColorTuple(h, s, 1.0f));
+        if(_dependencies.update(_brightnessBand, tuple)) {
+            _startTuple.set(h, s, 0.0f);
+            _endTuple.set(h, s, 1.0f);
+            _brightnessBand.setColors(_startTuple, _endTuple);
+        }
         
     }   
     
     
 
 
+    /**
+     * Called when the color model changes.  Changes made by this display are already shown,
+     * anything else is loaded into the bands and the alpha slider.
+     * @param model The color model.
+     * @param source The view that changed the color.
+     */
+    @Override
+    public void colorModelChanged(DialogColorModel model, Object source) {
+        
+        if(model.getVersion() == _modelVersion) {
+            return;
+        }
+        
+        _modelVersion = model.getVersion();
+        
+        if(source != this) {
+            loadModel();
+            repaintChanged();
+        }
+        
+    }
+    
+    /**
+     * Load the color of the model into the display.
+     */
+    private void loadModel() {
+        
+        //set the colors
+        _currentColor = _model.getColor();
+        _dynamicColor = _currentColor;
+        
+        //exact colors, the 8-bit comparison only skips bands while dragging
+        _dependencies.invalidate();
+ 
+        //set the alpha
+        _currentAlpha = _model.getAlpha();
+        
+        updateRGBValues(_model.getRGB());
+        updateHSBValues(_model.getHSB());
+        
+        //update the alpha slider
+        _alphaSlider.setAlpha(_currentAlpha);
+        _alphaSlider.setColor(_currentColor);
+        
+    }
+
     /**
      * Called when the Alpha slider changes.
      * 
@@ -730,101 +1588,91 @@ public class DisplayPanel extends JPanel implements MouseMotionListener, MouseLi
     public void alphaChanged(int alpha) {
        
         
+        Object update = FlightEvents.beginColorUpdate();
+        
         _currentAlpha = alpha;
         
+        long version = _model.getVersion();
+        long start = startListenerTiming();
+        _model.setAlpha(alpha, this);
+        recordListenerTiming(start, version);
+        
         if(_activeSlider != null) {
-            _dynamicColor = applyCurrentAlpha(_dynamicColor);
+            _dynamicColor = _model.getColor();
         } 
         
         onChange();
         
+        FlightEvents.endColorUpdate(update, FlightEvents.SLIDERS);
+        
     }
     
     
     
     /**
-     * Apply the current alpha value to a color.  This creates a new
-     * color with the alpha applied.
-     * @param color  The color to apply the alpha to.
-     * @return The color with the alpha applied.
+     * Notify the listener that the color has changed.
+     * The tuples passed to the listener are owned by the color model.
      */
-    private Color applyCurrentAlpha(Color color) {
-        
-        int r = color.getRed();
-        int g = color.getGreen();
-        int b = color.getBlue();
+    private void onChange() {
         
-        return new Color(r,g,b,_currentAlpha);
+        //notify listener
+        _listener.colorUpdatedFromSliders(_model.getRGB(), _model.getHSB(), _currentAlpha);
         
     }
     
     /**
-     * Notify the listener that the color has changed.
+     * Start timing a change of the color model, when the metrics are enabled.
+     * @return The start time in nanoseconds, 0 if the metrics are disabled.
      */
-    private void onChange() {
-        
-       float red = (float)_redBand.getValue();
-        float blu = (float)_blueBand.getValue();
-        float grn = (float)_greenBand.getValue();
-        
-        float hue = (float)_hueBand.getValue();
-        float sat = (float)_saturationBand.getValue();
-        float brt = (float)_brightnessBand.getValue();
-        
-        ColorTuple rgbT = new ColorTuple(red,grn,blu);
-        ColorTuple hsbT = new ColorTuple(hue,sat,brt);
-        
-        //notify listener
-        _listener.colorUpdatedFromSliders(rgbT, hsbT, _currentAlpha);        
-        
+    private long startListenerTiming() {
+        return _metrics != null ? System.nanoTime() : 0;
+    }
+    
+    /**
+     * Record the time spent notifying the other views of the color model (the controls),
+     * unless the metrics are disabled or the change left the model as it was.
+     * @param start The start time from startListenerTiming.
+     * @param version The version of the model before the change.
+     */
+    private void recordListenerTiming(long start, long version) {
         
+        if(_metrics != null && _model.getVersion() != version) {
+            _metrics.recordListener(System.nanoTime() - start);
+        }
         
     }
     
     
     /**
-     * Load a Color.  Loads a color into the display.
+     * Load a Color.  Loads a color into the color model, which updates the display 
+     * and any other view of the model.
      * @param color The Color to load.
      */
     public void loadColor(Color color) {
         
-        
-        
-        //set the colors
-        _currentColor = color;
-        _dynamicColor = color;
- 
-        //set the alpha
-        _currentAlpha = color.getAlpha();        
-        
-        
-        updateRGBValues(color);
-        updateHSBValues(color);
-        
-        //update the alpha slider
-        _alphaSlider.setAlpha(_currentAlpha);
-        _alphaSlider.setColor(color);
-        
+        _model.setColor(color, null);
         
     }
     
     
     /**
-     * Update the display when a color has changed in the controls.
+     * Update the display when a color has changed in controls that don't share the color model.
      * @param rgb The RGB tuple.
      * @param hsb The HSB tuple.
      * @param alpha THe alpha value.
      */
     public void updateFromControls(ColorTuple rgb, ColorTuple hsb, int alpha) {
         
-        _currentAlpha = alpha;
-//        _dynamicColor = applyCurrentAlpha(_dynamicColor);
-        Color rgbColor = rgb.getColor(TupleType.RGB);
-        rgbColor = applyCurrentAlpha(rgbColor);
-        
-        loadColor(rgbColor);
+        _model.setValues(rgb, hsb, alpha, null);
         
-        this.repaint();
+    }
+    
+    /**
+     * Get the color model shown by the display.
+     * @return The color model.
+     */
+    public DialogColorModel getDialogColorModel() {
+        return _model;
     }
     
 }//end class
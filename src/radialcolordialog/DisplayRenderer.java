@@ -0,0 +1,208 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Tom.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package radialcolordialog;
+
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A dedicated thread that renders full frames of the display into two back buffers.
+ * <p>
+ * Thread safety:
+ * <ul>
+ * <li>State reaches the thread only as immutable {@link DisplaySnapshot}s, posted through an
+ * atomic reference.  Only the latest snapshot is kept, so snapshots posted faster than
+ * frames are rendered are dropped.</li>
+ * <li>The scene (a private display that the snapshots are applied to) and the back buffer
+ * are only touched by the render thread once it is started.</li>
+ * <li>The front buffer is only read, and the buffers are only swapped, while holding the
+ * frame lock, so a buffer is never drawn to while it is being copied to the screen.</li>
+ * </ul>
+ * When a frame is finished the frame ready callback is run on the render thread,
+ * so it must be safe to call from any thread (such as Component.repaint).
+ * @author Tom
+ */
+final class DisplayRenderer implements Runnable {
+
+    //how long shutdown waits for the frame in progress
+    private static final long SHUTDOWN_TIMEOUT = 1000;
+
+    private final DisplayPanel _scene;
+    private final Runnable _frameReady;
+
+    private final AtomicReference<DisplaySnapshot> _pending;
+
+    private final Object _frameLock;
+    private BufferedImage _front;
+    private BufferedImage _back;
+
+    private final Thread _thread;
+    private volatile boolean _running;
+
+    /**
+     * Create a renderer.  Call start to begin rendering.
+     * @param scene The display to render the snapshots with.  It is owned by the render thread 
+     * once started, and must not be displayed.
+     * @param frameReady The callback after each frame is finished (run on the render thread).
+     */
+    DisplayRenderer(DisplayPanel scene, Runnable frameReady) {
+
+        _scene = scene;
+        _frameReady = frameReady;
+
+        _pending = new AtomicReference<>();
+
+        _frameLock = new Object();
+        _front = null;
+        _back = null;
+
+        _thread = new Thread(this, "RadialColorDialog Renderer");
+        _thread.setDaemon(true);
+        _running = false;
+
+    }
+
+    /**
+     * Start the render thread.
+     */
+    void start() {
+        _running = true;
+        _thread.start();
+    }
+
+    /**
+     * Post a snapshot to render, replacing any snapshot not yet rendered.
+     * @param snapshot The snapshot to render.
+     */
+    void post(DisplaySnapshot snapshot) {
+        _pending.set(snapshot);
+        LockSupport.unpark(_thread);
+    }
+
+    /**
+     * Draw the latest finished frame.
+     * @param g The graphics object to draw to.
+     * @return True if a frame was drawn, false if no frame is finished yet.
+     */
+    boolean drawFrame(Graphics g) {
+
+        synchronized (_frameLock) {
+
+            if (_front == null) {
+                return false;
+            }
+
+            g.drawImage(_front, 0, 0, null);
+
+        }
+
+        return true;
+
+    }
+
+    /**
+     * Stop the render thread, waiting for the frame in progress, and release the buffers.
+     */
+    void shutdown() {
+
+        _running = false;
+        LockSupport.unpark(_thread);
+
+        try {
+            _thread.join(SHUTDOWN_TIMEOUT);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (_frameLock) {
+            if (_front != null) {
+                _front.flush();
+                _front = null;
+            }
+        }
+
+        //the back buffer is left alone if the thread is still finishing a frame
+        if (!_thread.isAlive() && _back != null) {
+            _back.flush();
+            _back = null;
+        }
+
+    }
+
+    @Override
+    public void run() {
+
+        while (_running) {
+
+            DisplaySnapshot snapshot = _pending.getAndSet(null);
+
+            if (snapshot == null) {
+                LockSupport.park(this);
+                continue;
+            }
+
+            renderFrame(snapshot);
+
+            if (_running) {
+                _frameReady.run();
+            }
+
+        }
+
+    }
+
+    /**
+     * Render a snapshot into the back buffer, then swap it to the front.
+     * @param snapshot The snapshot to render.
+     */
+    private void renderFrame(DisplaySnapshot snapshot) {
+
+        int w = snapshot.getWidth();
+        int h = snapshot.getHeight();
+
+        if (w <= 0 || h <= 0) {
+            return;
+        }
+
+        if (_back == null || _back.getWidth() != w || _back.getHeight() != h) {
+            _back = Util.createCompatibleImage(w, h, Transparency.OPAQUE);
+        }
+
+        Graphics2D g2 = _back.createGraphics();
+        _scene.renderFrame(g2, snapshot);
+        g2.dispose();
+
+        synchronized (_frameLock) {
+            BufferedImage front = _front;
+            _front = _back;
+            _back = front;
+        }
+
+    }
+
+}
@@ -0,0 +1,183 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Tom.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package radialcolordialog;
+
+import java.awt.Color;
+
+/**
+ * An immutable snapshot of everything the display renders: the colors and value of each
+ * color band, the alpha slider, the center colors, the background and the render mode.
+ * Snapshots are taken on the event dispatch thread and handed to the render thread,
+ * so nothing in a snapshot is changed after it is built.
+ * @author Tom
+ */
+final class DisplaySnapshot {
+
+    //per band, in the order of the bands passed in
+    private final ColorRange[] _ranges;
+    private final double[] _values;
+
+    private final int _alpha;
+    private final Color _alphaColor;
+
+    private final Color _currentColor;
+    private final Color _dynamicColor;
+    private final Color _background;
+
+    private final RenderMode _renderMode;
+    private final boolean _handleSprites;
+
+    private final int _width;
+    private final int _height;
+
+    /**
+     * Take a snapshot of the display state.
+     * @param bands The color bands.
+     * @param alphaSlider The alpha slider.
+     * @param currentColor The current color (center pies).
+     * @param dynamicColor The dynamic color (center pies).
+     * @param background The background color.
+     * @param renderMode The render mode of the bands.
+     * @param handleSprites True if the handles are drawn as sprites.
+     * @param width The width of the frame.
+     * @param height The height of the frame.
+     */
+    DisplaySnapshot(ColorBand[] bands, AlphaSlider alphaSlider, Color currentColor, Color dynamicColor, Color background, RenderMode renderMode, boolean handleSprites, int width, int height) {
+
+        _ranges = new ColorRange[bands.length];
+        _values = new double[bands.length];
+
+        for (int i = 0; i < bands.length; i++) {
+            _ranges[i] = new ColorRange();
+            bands[i].copyColors(_ranges[i]);
+            _values[i] = bands[i].getValue();
+        }
+
+        _alpha = alphaSlider.getValue();
+        _alphaColor = alphaSlider.getColor();
+
+        _currentColor = currentColor;
+        _dynamicColor = dynamicColor;
+        _background = background;
+
+        _renderMode = renderMode;
+        _handleSprites = handleSprites;
+
+        _width = width;
+        _height = height;
+
+    }
+
+    /**
+     * Get the number of color bands.
+     * @return The number of color bands.
+     */
+    int getBandCount() {
+        return _ranges.length;
+    }
+
+    /**
+     * Get the colors of a band.  The range must not be changed.
+     * @param index The index of the band.
+     * @return The colors of the band.
+     */
+    ColorRange getRange(int index) {
+        return _ranges[index];
+    }
+
+    /**
+     * Get the value of a band.
+     * @param index The index of the band.
+     * @return The value of the band (0.0 to 1.0).
+     */
+    double getValue(int index) {
+        return _values[index];
+    }
+
+    int getAlpha() {
+        return _alpha;
+    }
+
+    Color getAlphaColor() {
+        return _alphaColor;
+    }
+
+    Color getCurrentColor() {
+        return _currentColor;
+    }
+
+    Color getDynamicColor() {
+        return _dynamicColor;
+    }
+
+    Color getBackground() {
+        return _background;
+    }
+
+    RenderMode getRenderMode() {
+        return _renderMode;
+    }
+
+    boolean isHandleSprites() {
+        return _handleSprites;
+    }
+
+    int getWidth() {
+        return _width;
+    }
+
+    int getHeight() {
+        return _height;
+    }
+
+    /**
+     * Check if another snapshot would render the same frame.
+     * @param other The snapshot to compare (may be null).
+     * @return True if the snapshots match, false otherwise.
+     */
+    boolean isSame(DisplaySnapshot other) {
+
+        if (other == null || other._ranges.length != _ranges.length) {
+            return false;
+        }
+
+        for (int i = 0; i < _ranges.length; i++) {
+            if (_values[i] != other._values[i] || !_ranges[i].isRange(other._ranges[i])) {
+                return false;
+            }
+        }
+
+        return _alpha == other._alpha
+                && _alphaColor.equals(other._alphaColor)
+                && _currentColor.equals(other._currentColor)
+                && _dynamicColor.equals(other._dynamicColor)
+                && _background.equals(other._background)
+                && _renderMode == other._renderMode
+                && _handleSprites == other._handleSprites
+                && _width == other._width
+                && _height == other._height;
+
+    }
+
+}
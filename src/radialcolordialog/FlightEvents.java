@@ -0,0 +1,82 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Tom.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package radialcolordialog;
+
+/**
+ * Flight recorder events for the paint phases and color update cycles.
+ * This is the Java 8 version, where every call does nothing.  The Java 11 version
+ * (src11, packaged in META-INF/versions/11 of the jar) emits JFR events.
+ * A begin call returns the event to pass to the matching end call, null when not recording.
+ * @author Tom
+ */
+final class FlightEvents {
+
+    //paint phases
+    static final String BACKGROUND = "Background";
+    static final String BANDS = "Color Bands";
+    static final String ALPHA = "Alpha Slider";
+    static final String PIES = "Center Pies";
+    static final String MASKS = "Mask Outlines";
+    static final String HANDLES = "Handles";
+
+    //color update sources
+    static final String SLIDERS = "Sliders";
+    static final String CONTROLS = "Controls";
+
+    private FlightEvents() {
+    }
+
+    /**
+     * Begin a paint phase.
+     * @return The event to end, null if not recording.
+     */
+    static Object beginPaintPhase() {
+        return null;
+    }
+
+    /**
+     * End a paint phase.
+     * @param event The event from beginPaintPhase (may be null).
+     * @param phase The name of the phase.
+     */
+    static void endPaintPhase(Object event, String phase) {
+    }
+
+    /**
+     * Begin a color update cycle.
+     * @return The event to end, null if not recording.
+     */
+    static Object beginColorUpdate() {
+        return null;
+    }
+
+    /**
+     * End a color update cycle.
+     * @param event The event from beginColorUpdate (may be null).
+     * @param source The source of the update (sliders or controls).
+     */
+    static void endColorUpdate(Object event, String source) {
+    }
+
+}
@@ -0,0 +1,223 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Tom.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package radialcolordialog;
+
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+
+/**
+ * Hit test index for the sliders of the display.
+ * The color bands are grouped into rings by their radii, and the rings are kept sorted
+ * so a point is resolved by converting it to polar coordinates once and binary searching
+ * the ring radii, then checking the angular range of the bands in that ring.
+ * Other sliders (such as the AlphaSlider) fall back to their own hit test.
+ * At most one slider is found for any point.
+ * @author Tom
+ */
+public class HitTestIndex {
+
+    private final Point2D _center;
+
+    //rings sorted by inner radius, with the inner radii for searching
+    private final ArrayList<Ring> _rings;
+    private double[] _innerRadii;
+
+    private final ArrayList<InteractiveSlider> _others;
+
+    //shared polar coordinates of the display, null to compute them
+    private PolarMap _polarMap;
+
+    /**
+     * Build an empty index around the center of the bands.
+     * @param center The center of the color bands in world coordinates.
+     */
+    public HitTestIndex(Point2D center) {
+
+        _center = center;
+
+        _rings = new ArrayList<>();
+        _innerRadii = new double[0];
+
+        _others = new ArrayList<>();
+
+        _polarMap = null;
+
+    }
+
+    /**
+     * Add a color band to the index.  Bands with the same radii share a ring (such as the RGB arcs),
+     * bands with different radii must not overlap.
+     * @param band The color band to add.
+     */
+    public void addBand(ColorBand band) {
+
+        double inner = band.getInnerRadius();
+        double outer = band.getOuterRadius();
+
+        int index = 0;
+
+        for (Ring ring : _rings) {
+
+            if (ring._inner == inner && ring._outer == outer) {
+                ring._bands.add(band);
+                return;
+            }
+
+            if (inner <= ring._outer && outer >= ring._inner) {
+                throw new IllegalArgumentException("Band " + band + " overlaps another ring");
+            }
+
+            if (ring._inner < inner) {
+                index++;
+            }
+
+        }
+
+        Ring ring = new Ring(inner, outer);
+        ring._bands.add(band);
+        _rings.add(index, ring);
+
+        _innerRadii = new double[_rings.size()];
+        for (int i = 0; i < _innerRadii.length; i++) {
+            _innerRadii[i] = _rings.get(i)._inner;
+        }
+
+    }
+
+    /**
+     * Add a slider that is not a ring to the index.
+     * These are checked with their own hit test, after the rings.
+     * @param slider The slider to add.
+     */
+    public void addSlider(InteractiveSlider slider) {
+        _others.add(slider);
+    }
+
+    /**
+     * Set the polar map to look up the polar coordinates of points in.  Points are then
+     * resolved at the center of the pixel they fall in.  The map is only used if it has 
+     * the same center as the index.
+     * @param map The polar map, null to compute the polar coordinates.
+     */
+    public void setPolarMap(PolarMap map) {
+        _polarMap = map != null && _center.equals(map.getCenter()) ? map : null;
+    }
+
+    /**
+     * Find the slider at a point.
+     * @param point The point in world coordinates.
+     * @return The slider at the point, null if there is none.
+     */
+    public InteractiveSlider find(Point2D point) {
+
+        int index = _polarMap == null ? -1 : _polarMap.indexOf(point);
+
+        double distance;
+        double theta;
+
+        if (index >= 0) {
+            distance = _polarMap.getRadius(index);
+            theta = _polarMap.getTheta(index);
+        } else {
+            double dx = point.getX() - _center.getX();
+            double dy = point.getY() - _center.getY();
+            distance = Math.sqrt((dx * dx) + (dy * dy));
+            theta = Math.atan2(dy, dx);
+        }
+
+        Ring ring = findRing(distance);
+
+        if (ring != null) {
+
+            for (ColorBand band : ring._bands) {
+                if (band.containsPolar(distance, theta)) {
+                    return band;
+                }
+            }
+
+        }
+
+        for (InteractiveSlider slider : _others) {
+            if (slider.containsPoint(point)) {
+                return slider;
+            }
+        }
+
+        return null;
+
+    }
+
+    /**
+     * Find the ring that contains a distance from the center.
+     * @param distance The distance from the center.
+     * @return The ring containing the distance, null if there is none.
+     */
+    private Ring findRing(double distance) {
+
+        //last ring with an inner radius at or below the distance
+        int low = 0;
+        int high = _innerRadii.length - 1;
+        int found = -1;
+
+        while (low <= high) {
+
+            int mid = (low + high) >>> 1;
+
+            if (_innerRadii[mid] <= distance) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+
+        }
+
+        if (found < 0) {
+            return null;
+        }
+
+        Ring ring = _rings.get(found);
+
+        return distance <= ring._outer ? ring : null;
+
+    }
+
+    /**
+     * A radius interval and the bands that lie in it.
+     */
+    private static final class Ring {
+
+        private final double _inner;
+        private final double _outer;
+        private final ArrayList<ColorBand> _bands;
+
+        Ring(double inner, double outer) {
+            _inner = inner;
+            _outer = outer;
+            _bands = new ArrayList<>();
+        }
+
+    }
+
+}
@@ -24,6 +24,7 @@
 package radialcolordialog;
 
 import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
 
 /**
  * Interface used to allow both ColorBands and the AlphaSlider
@@ -45,4 +46,16 @@ public interface InteractiveSlider {
      */
     public boolean containsPoint(Point2D point);
     
+    /**
+     * Get the bounds of the slider (world coordinates), including the handle at any position.
+     * @return The bounds of the slider in world coordinates.
+     */
+    public Rectangle2D getBounds();
+    
+    /**
+     * Check if the slider changed since it was last rendered.
+     * @return True if the slider needs to be repainted, false otherwise.
+     */
+    public boolean needsRepaint();
+    
 }
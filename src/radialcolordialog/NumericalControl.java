@@ -58,8 +58,6 @@ public class NumericalControl extends JPanel implements ChangeListener {
     
     private NumericalControlListener _listener;
     
-    private boolean _internUpdate;
-    
     /**
      * Construct the control and attach the listener.
      * @param listener  The listener for change notification.
@@ -82,8 +80,6 @@ public class NumericalControl extends JPanel implements ChangeListener {
         //number model for spinner
         _numberModel = new SpinnerNumberModel(new Integer(min),new Integer(min),new Integer(max), new Integer(1));
         
-        _internUpdate = false;
-        
         init();
         
     }
@@ -134,7 +130,7 @@ public class NumericalControl extends JPanel implements ChangeListener {
      * @return The value of the control.
      */
     public int getValue() {
-        return (int)_numberModel.getValue();
+        return _numberModel.getNumber().intValue();
     }
 
     
@@ -147,9 +143,9 @@ public class NumericalControl extends JPanel implements ChangeListener {
         
         
         //cast from int and into a float...
-        float max = (int)_numberModel.getMaximum();
-        float min = (int)_numberModel.getMinimum();
-        float val = (int)_numberModel.getValue();
+        float max = ((Number)_numberModel.getMaximum()).intValue();
+        float min = ((Number)_numberModel.getMinimum()).intValue();
+        float val = _numberModel.getNumber().intValue();
         
         //int rng = max - min;
         
@@ -168,42 +164,31 @@ public class NumericalControl extends JPanel implements ChangeListener {
     
     /**
      * ChangeListener event call.  
-     * This is called when the spinner changes.
+     * This is called when the spinner changes, also when it is updated from outside.
+     * The listener tells the two apart by comparing the value to the color.
      * @param e The change event.
      */
     @Override
     public void stateChanged(ChangeEvent e) {
        
-        
-        //check for internal update when changed from outside
-        if(!_internUpdate) {
-            
-            _internUpdate = true;
-            
-            int spinnerValue = (int)_numberModel.getValue();
-            
-            _value = spinnerValue;
-            
-            //notify listenr
-            onChange();
-        
-            _internUpdate = false;
-            
-        } else {
-            //System.out.println("state changed rejected in numeric control");
-        }
-        
+        int spinnerValue = _numberModel.getNumber().intValue();
+
+        _value = spinnerValue;
+
+        //notify listenr
+        onChange();
         
     }
     
     /**
-     * Update the spinner value from a ColorTuple.
-     * @param tuple The tuple to update from.
+     * Get the value the control has for a ColorTuple.
+     * @param tuple The tuple to get the value from.
+     * @return The value of the channel of the control in the editing range.
      */
-    public void updateFromTuple(ColorTuple tuple) {
+    public int getValueFromTuple(ColorTuple tuple) {
         
-        int max = (int)_numberModel.getMaximum();
-        int min = (int)_numberModel.getMinimum();
+        int max = ((Number)_numberModel.getMaximum()).intValue();
+        int min = ((Number)_numberModel.getMinimum()).intValue();
         
         int rng = max - min;
         
@@ -212,32 +197,32 @@ public class NumericalControl extends JPanel implements ChangeListener {
         //not really needed here, but in principle...
         value += min;
         
-        _internUpdate = true;
-        _numberModel.setValue(value);
-        _internUpdate = false;
+        return value;
         
+    }
+    
+    /**
+     * Update the spinner value from a ColorTuple.
+     * @param tuple The tuple to update from.
+     */
+    public void updateFromTuple(ColorTuple tuple) {
+        
+        updateFromInteger(getValueFromTuple(tuple));
         
     }
     
     /**
      * Update the control from the slider in the display panel.
+     * The spinner is only set when the value differs, setting it formats and revalidates the editor.
      * @param value The new value for the spinner.
      */
     public void updateFromInteger(int value) {
         
-        
         _value = value;
-       
         
-        if(!_internUpdate) {
-            
-            _internUpdate = true;
+        if(_numberModel.getNumber().intValue() != value) {
             _numberModel.setValue(value);
-            _internUpdate = false;
-            
-        }        
-        
-        
+        }
         
     }
     
@@ -0,0 +1,335 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Tom.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package radialcolordialog;
+
+import java.awt.geom.Point2D;
+import java.lang.ref.SoftReference;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Objects;
+
+/**
+ * A precomputed polar map of a display surface.  For the center of each pixel this holds the
+ * distance and angle from the center of the rings, the ring it lies in and its radial coverage
+ * of that ring, so the color bands can be rasterized and hit tested with lookups instead of 
+ * a square root and an arc tangent per pixel.
+ * <p>
+ * Pixels are laid out top down (screen orientation), with the surface in world coordinates 
+ * (y up), so row r of the map is centered at world y = height - r - 0.5.  Maps are shared 
+ * between all displays with the same geometry, and held softly so they can be evicted.
+ * The arrays are never changed once built, so a map can be read from any thread.
+ * @author Tom
+ */
+public class PolarMap {
+
+    //shared maps keyed by geometry
+    private static final HashMap<Key, SoftReference<PolarMap>> MAPS = new HashMap<>();
+
+    private static long _hits = 0;
+    private static long _misses = 0;
+
+    private final int _width;
+    private final int _height;
+    private final Point2D _center;
+
+    //rings by index, sorted by inner radius
+    private final double[] _inner;
+    private final double[] _outer;
+
+    //per pixel
+    private final float[] _radius;
+    private final float[] _theta;
+    private final byte[] _ring;
+    private final byte[] _coverage;
+
+    /**
+     * Get a shared polar map.  The rings must not overlap.
+     * @param width The width of the surface.
+     * @param height The height of the surface.
+     * @param center The center of the rings in world coordinates.
+     * @param inner The inner radius of each ring.
+     * @param outer The outer radius of each ring.
+     * @return The shared polar map.
+     */
+    public static synchronized PolarMap get(int width, int height, Point2D center, double[] inner, double[] outer) {
+
+        Key key = new Key(width, height, center.getX(), center.getY(), inner, outer);
+
+        SoftReference<PolarMap> ref = MAPS.get(key);
+        PolarMap map = ref == null ? null : ref.get();
+
+        if (map == null) {
+            _misses++;
+            map = new PolarMap(width, height, center, inner, outer);
+            MAPS.put(key, new SoftReference<>(map));
+        } else {
+            _hits++;
+        }
+
+        return map;
+
+    }
+
+    /**
+     * Get the number of requests served from the cache.
+     * @return The number of cache hits.
+     */
+    public static synchronized long getHitCount() {
+        return _hits;
+    }
+
+    /**
+     * Get the number of requests that had to build a new map.
+     * @return The number of cache misses.
+     */
+    public static synchronized long getMissCount() {
+        return _misses;
+    }
+
+    /**
+     * Drop all the cached maps, and reset the counts.
+     */
+    public static synchronized void clearCache() {
+        MAPS.clear();
+        _hits = 0;
+        _misses = 0;
+    }
+
+    /**
+     * Build the map.
+     * @param width The width of the surface.
+     * @param height The height of the surface.
+     * @param center The center of the rings in world coordinates.
+     * @param inner The inner radius of each ring.
+     * @param outer The outer radius of each ring.
+     */
+    private PolarMap(int width, int height, Point2D center, double[] inner, double[] outer) {
+
+        _width = width;
+        _height = height;
+        _center = new Point2D.Double(center.getX(), center.getY());
+
+        //sort the rings by inner radius
+        Integer[] order = new Integer[inner.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(inner[a], inner[b]));
+
+        _inner = new double[inner.length];
+        _outer = new double[inner.length];
+        for (int i = 0; i < order.length; i++) {
+            _inner[i] = inner[order[i]];
+            _outer[i] = outer[order[i]];
+        }
+
+        int n = width * height;
+
+        _radius = new float[n];
+        _theta = new float[n];
+        _ring = new byte[n];
+        _coverage = new byte[n];
+
+        double TAO = Math.PI * 2;
+        double cx = _center.getX();
+        double cy = _center.getY();
+
+        for (int j = 0; j < height; j++) {
+
+            //sample pixel centers
+            double dy = (height - j - 0.5) - cy;
+            int row = j * width;
+
+            for (int i = 0; i < width; i++) {
+
+                double dx = (i + 0.5) - cx;
+                double dist = Math.sqrt(dx * dx + dy * dy);
+
+                double theta = Math.atan2(dy, dx);
+                if (theta < 0) {
+                    theta += TAO;
+                }
+
+                _radius[row + i] = (float) dist;
+                _theta[row + i] = (float) theta;
+                _ring[row + i] = -1;
+
+                for (int r = 0; r < _inner.length; r++) {
+
+                    //radial coverage
+                    double cov = Math.min(dist - _inner[r], _outer[r] - dist) + 0.5;
+
+                    if (cov > 0) {
+                        _ring[row + i] = (byte) r;
+                        _coverage[row + i] = (byte) (cov >= 1 ? 255 : (int) (cov * 255 + 0.5));
+                        break;
+                    }
+
+                }
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Get the width of the surface.
+     * @return The width in pixels.
+     */
+    public int getWidth() {
+        return _width;
+    }
+
+    /**
+     * Get the height of the surface.
+     * @return The height in pixels.
+     */
+    public int getHeight() {
+        return _height;
+    }
+
+    /**
+     * Get the center of the rings.
+     * @return The center in world coordinates.
+     */
+    public Point2D getCenter() {
+        return (Point2D) _center.clone();
+    }
+
+    /**
+     * Find the index of a ring.
+     * @param inner The inner radius of the ring.
+     * @param outer The outer radius of the ring.
+     * @return The index of the ring, -1 if the map has no such ring.
+     */
+    public int findRing(double inner, double outer) {
+
+        for (int r = 0; r < _inner.length; r++) {
+            if (_inner[r] == inner && _outer[r] == outer) {
+                return r;
+            }
+        }
+
+        return -1;
+
+    }
+
+    /**
+     * Get the index of the pixel containing a point.
+     * @param point The point in world coordinates.
+     * @return The index of the pixel, -1 if the point is outside the surface.
+     */
+    public int indexOf(Point2D point) {
+
+        int col = (int) Math.floor(point.getX());
+        int row = (int) Math.floor(_height - point.getY());
+
+        if (col < 0 || row < 0 || col >= _width || row >= _height) {
+            return -1;
+        }
+
+        return row * _width + col;
+
+    }
+
+    /**
+     * Get the distance of a pixel center from the center of the rings.
+     * @param index The index of the pixel.
+     * @return The distance.
+     */
+    public float getRadius(int index) {
+        return _radius[index];
+    }
+
+    /**
+     * Get the angle of a pixel center around the center of the rings.
+     * @param index The index of the pixel.
+     * @return The angle in radians, 0 to 2 PI.
+     */
+    public float getTheta(int index) {
+        return _theta[index];
+    }
+
+    /**
+     * Get the ring a pixel lies in.
+     * @param index The index of the pixel.
+     * @return The index of the ring, -1 if the pixel is not in a ring.
+     */
+    public int getRing(int index) {
+        return _ring[index];
+    }
+
+    /**
+     * Get the radial coverage of a pixel by its ring.
+     * @param index The index of the pixel.
+     * @return The coverage (0 to 255), 0 if the pixel is not in a ring.
+     */
+    public int getCoverage(int index) {
+        return _coverage[index] & 0xFF;
+    }
+
+    /**
+     * Cache key of the surface size, center and ring radii.
+     */
+    private static final class Key {
+
+        private final int _width;
+        private final int _height;
+        private final double _cx;
+        private final double _cy;
+        private final double[] _inner;
+        private final double[] _outer;
+
+        Key(int width, int height, double cx, double cy, double[] inner, double[] outer) {
+            _width = width;
+            _height = height;
+            _cx = cx;
+            _cy = cy;
+            _inner = inner.clone();
+            _outer = outer.clone();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return _width == other._width && _height == other._height 
+                    && _cx == other._cx && _cy == other._cy
+                    && Arrays.equals(_inner, other._inner) && Arrays.equals(_outer, other._outer);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(_width, _height, _cx, _cy, Arrays.hashCode(_inner), Arrays.hashCode(_outer));
+        }
+
+    }
+
+}
@@ -26,6 +26,15 @@ package radialcolordialog;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Rectangle;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.awt.event.WindowListener;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import javax.management.JMException;
+import javax.management.ObjectName;
 import javax.swing.JDialog;
 import javax.swing.JFrame;
 
@@ -42,16 +51,26 @@ import javax.swing.JFrame;
  */
 public class RadialColorDialog extends JDialog implements DisplayListener, ControlListener {
 
-    private Color _dialogColor;
+    //reusable dialogs by owner (including the null owner)
+    private static final HashMap<JFrame, RadialColorDialog> POOL = new HashMap<>();
+
+    //the color edited in the dialog, shared by the display and the controls
+    private DialogColorModel _model;
     
     private boolean _okSelected;
     
     private DisplayPanel _display;
     
+    //registered metrics, null if not registered
+    private ObjectName _metricsName;
+    
     private ControlPanel _controls;
     
     private JFrame _owner;
     
+    //disposes the pooled dialog when the owner is closed, null if not pooled
+    private WindowListener _ownerListener;
+    
     /**
      * Used for Development and Testing.
      * @param args the command line arguments (ignored).
@@ -85,14 +104,87 @@ public class RadialColorDialog extends JDialog implements DisplayListener, Contr
         super(frame, true);
   
         _okSelected = false;
-        _dialogColor = Color.BLACK;
+        _model = new DialogColorModel();
         
         _owner = frame;
         
+        _metricsName = null;
+        
+        _ownerListener = null;
+        
         init();
     }
     
 
+    /**
+     * Get the reusable dialog for an owner.  The dialog is built on the first call for the owner 
+     * and returned on every later call, so showing it again only reloads the color.
+     * Don't dispose the dialog after each use; disposing it early just builds a new one on the next call.
+     * <p>
+     * The pool holds the owner and its dialog until the owner is closed (disposed), which disposes
+     * the dialog too.  An owner that is only hidden or dropped without being disposed, and the null
+     * owner, keep their dialogs until disposeAll is called, for example when the application shuts down.
+     * Call this on the event dispatch thread.
+     * @param owner The modal owner of the dialog (may be null).
+     * @return The dialog for the owner.
+     */
+    public static RadialColorDialog getInstance(JFrame owner) {
+        
+        RadialColorDialog dialog = POOL.get(owner);
+        
+        if(dialog == null) {
+            
+            dialog = new RadialColorDialog(owner);
+            POOL.put(owner, dialog);
+            
+            if(owner != null) {
+                
+                final RadialColorDialog pooled = dialog;
+                
+                pooled._ownerListener = new WindowAdapter() {
+                    @Override
+                    public void windowClosed(WindowEvent e) {
+                        pooled.dispose();
+                    }
+                };
+                
+                owner.addWindowListener(pooled._ownerListener);
+                
+            }
+            
+        }
+        
+        return dialog;
+        
+    }
+    
+    /**
+     * Dispose every pooled dialog, releasing the dialogs and their owners.
+     * Later calls to getInstance build new dialogs.
+     * Call this on the event dispatch thread.
+     */
+    public static void disposeAll() {
+        
+        //disposing removes the dialog from the pool
+        for (RadialColorDialog dialog : new ArrayList<>(POOL.values())) {
+            dialog.dispose();
+        }
+        
+        POOL.clear();
+        
+    }
+    
+    /**
+     * Build the resources shared by all dialogs on a background thread, so the first
+     * dialog opens faster.  Call this early, for example at application startup.
+     * @return The background task, complete when the resources are built.
+     */
+    public static CompletableFuture<Void> prewarm() {
+        
+        return CompletableFuture.runAsync(DisplayPanel::prewarm);
+        
+    }
+    
     /**
      * Initialize the dialog.
      * 
@@ -106,9 +198,9 @@ public class RadialColorDialog extends JDialog implements DisplayListener, Contr
         BorderLayout bLayout = new BorderLayout();
         this.setLayout(bLayout);
         
-        _display = new DisplayPanel(this);
+        _display = new DisplayPanel(this, _model);
         
-        _controls = new ControlPanel(this);
+        _controls = new ControlPanel(this, _model);
         
 
             
@@ -137,12 +229,8 @@ public class RadialColorDialog extends JDialog implements DisplayListener, Contr
         
         this.setTitle(title);
         
-        //store the color
-        _dialogColor = color;
-        
-        _display.loadColor(color);
-        
-        _controls.loadInitialColor(color);
+        //load the color - the display and controls are updated by the model
+        _model.setColor(color, null);
         
         //resolve the position on screen to display at
         resolvePosition();
@@ -185,6 +273,73 @@ public class RadialColorDialog extends JDialog implements DisplayListener, Contr
     
     
   
+    /**
+     * Register the metrics of the display as an MXBean with the platform MBean server, 
+     * under radialcolordialog:type=DisplayPanel,name=&lt;name&gt;.  This enables the metrics
+     * of the display.  The MXBean is unregistered when the dialog is disposed.
+     * @param name The name of the dialog in the MXBean object name.
+     * @return The object name the metrics are registered under.
+     * @throws JMException If the name is not valid or is already registered.
+     */
+    public ObjectName registerMetrics(String name) throws JMException {
+        
+        unregisterMetrics();
+        
+        ObjectName objectName = new ObjectName("radialcolordialog:type=DisplayPanel,name=" + name);
+        
+        _display.setMetricsEnabled(true);
+        ManagementFactory.getPlatformMBeanServer().registerMBean(_display.getMetrics(), objectName);
+        
+        _metricsName = objectName;
+        
+        return objectName;
+        
+    }
+    
+    /**
+     * Unregister the metrics MXBean, if registered.  The display keeps recording.
+     */
+    public void unregisterMetrics() {
+        
+        if(_metricsName == null) {
+            return;
+        }
+        
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(_metricsName);
+        } catch (JMException ex) {
+            //already unregistered by someone else - nothing to clean up
+        }
+        
+        _metricsName = null;
+        
+    }
+    
+    /**
+     * Dispose of the dialog, unregistering the metrics MXBean, stopping the render thread 
+     * of the display (if used) and removing it from the pool.
+     */
+    @Override
+    public void dispose() {
+        
+        unregisterMetrics();
+        
+        _display.setRenderThread(false);
+        
+        //leave the pool
+        if(POOL.get(_owner) == this) {
+            POOL.remove(_owner);
+        }
+        
+        if(_ownerListener != null) {
+            _owner.removeWindowListener(_ownerListener);
+            _ownerListener = null;
+        }
+        
+        super.dispose();
+        
+    }
+    
     /**
      * Retrieves the color from the dialog.  This is the selected
      * color when the dialog returns ok.
@@ -192,7 +347,7 @@ public class RadialColorDialog extends JDialog implements DisplayListener, Contr
      */
     public Color getColor() {
         
-        return _dialogColor;
+        return _model.getColor();
         
     }
 
@@ -207,13 +362,7 @@ public class RadialColorDialog extends JDialog implements DisplayListener, Contr
     @Override
     public void colorUpdatedFromSliders(ColorTuple rgb, ColorTuple hsb, int alpha) {
         
-        
-        //set the current dialog color
-        Color rgbColor = rgb.getRGB();
-        _dialogColor = Util.composeColorWithAlpha(rgbColor, alpha);
-        
-        //update control panel
-        _controls.updateFromDisplay(rgb, hsb, alpha);
+        //nothing to do - the model already holds the color and has updated the controls
         
     }
     
@@ -228,12 +377,7 @@ public class RadialColorDialog extends JDialog implements DisplayListener, Contr
     @Override
     public void colorUpdatedFromInputs(ColorTuple rgb, ColorTuple hsb, int alpha) {
         
-        //set the current dialog color
-        Color rgbColor = rgb.getRGB();
-        _dialogColor = Util.composeColorWithAlpha(rgbColor, alpha);
-        
-        //update teh display
-        _display.updateFromControls(rgb,hsb,alpha);
+        //nothing to do - the model already holds the color and has updated the display
         
     }
     
@@ -0,0 +1,58 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 Tom.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package radialcolordialog;
+
+/**
+ * RenderMode is used to select how the ColorBands paint their arcs.
+ * @author Tom
+ */
+public enum RenderMode {
+    
+    /**
+     * Paint the arc with radially aligned lines.  The edges are masked
+     * by the display with outlines in the background color.
+     */
+    Rays,
+    
+    /**
+     * Compute each pixel of the arc directly from its polar coordinates.
+     * The edges are anti-aliased from the pixel coverage, so no masking is needed.
+     */
+    Raster,
+    
+    /**
+     * Fill the shape of the band with a ConicBandPaint.
+     * The edges are anti-aliased by the fill, so no masking is needed.
+     */
+    Paint,
+    
+    /**
+     * Compute the position along the arc of each pixel once, as an index into a palette.
+     * A color change only rebuilds the 256 color palette, and the partially covered
+     * edge pixels which are kept apart with their coverage.
+     */
+    Indexed;
+    
+    
+}
@@ -24,7 +24,10 @@
 package radialcolordialog;
 
 import java.awt.Color;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
 import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
 
 /**
  *  A collection of general utility functions.
@@ -89,8 +92,43 @@ public class Util {
         
         return new Color(r,g,b, alpha);
         
-    }     
+    }
     
     
+    /**
+     * Get the default graphics configuration of the screen.
+     * @return The default graphics configuration, null if headless.
+     */
+    public static GraphicsConfiguration getDefaultConfiguration() {
+        
+        if (GraphicsEnvironment.isHeadless()) {
+            return null;
+        }
+        
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+        
+    }
+    
+    
+    /**
+     * Create an image matched to the screen so it can be accelerated.
+     * When headless this falls back to a plain ARGB image.
+     * @param width The width of the image.
+     * @param height The height of the image.
+     * @param transparency The transparency of the image (see java.awt.Transparency).
+     * @return The new image.
+     */
+    public static BufferedImage createCompatibleImage(int width, int height, int transparency) {
+        
+        GraphicsConfiguration gc = getDefaultConfiguration();
+        
+        if (gc == null) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        }
+        
+        return gc.createCompatibleImage(width, height, transparency);
+        
+    }
+    
     
 }